@@ -0,0 +1,198 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A fact derived from an authentication, such as a tenant ID or a set of group
+ * memberships. Access policies frequently derive the same facts from the same
+ * authentication; declaring the derivation as an attribute allows each fact to
+ * be computed once and shared between them.
+ *
+ * <pre>{@code
+ * static final AuthenticationAttribute<String> DOMAIN = AuthenticationAttribute.of(auth ->
+ *         auth == null ? null : auth.getName().substring(auth.getName().indexOf('@') + 1));
+ *
+ * static boolean isInternal(Intent intent) {
+ *     return "example.com".equals(DOMAIN.get(intent));
+ * }
+ * }</pre>
+ *
+ * <p>Derived values are keyed by authentication instance, not by equality, and
+ * are released once that instance is no longer reachable. Reading a value which
+ * has already been derived does not acquire any locks. Since values are held
+ * strongly, they should not refer back to the authentication they were derived
+ * from, or it will never be released. Intents created without an
+ * authentication share a single value, derived from {@code null}.</p>
+ *
+ * @param <T> The type of value derived by this attribute.
+ */
+public final class AuthenticationAttribute<T> {
+
+    private static final Object NULL = new Object();
+
+    private final Function<? super Authentication, ? extends T> derivation;
+    private final Map<Key, Object> values = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Authentication> queue = new ReferenceQueue<>();
+    private volatile @Nullable Object anonymousValue;
+
+    private AuthenticationAttribute(Function<? super Authentication, ? extends T> derivation) {
+        this.derivation = derivation;
+    }
+
+    /**
+     * Create an attribute. The attribute should be stored somewhere it can be
+     * shared, such as a static constant or a field of a Spring bean.
+     *
+     * @param derivation A callback that derives the value from an
+     *                   authentication. It may return {@code null}.
+     * @return The new attribute.
+     * @param <T> The type of value derived by the attribute.
+     */
+    public static <T> AuthenticationAttribute<T> of(Function<? super Authentication, ? extends T> derivation) {
+        return new AuthenticationAttribute<>(derivation);
+    }
+
+    /**
+     * Get this attribute's value for the authentication an intent object was
+     * created for.
+     *
+     * @param intent Any intent object.
+     * @return The value derived from the intent object's authentication.
+     */
+    public @Nullable T get(Intent intent) {
+        return get(Intent.getAuthentication(intent));
+    }
+
+    /**
+     * Get this attribute's value for an authentication, deriving it if this is
+     * the first request for the authentication.
+     *
+     * @param authentication Any authentication, or {@code null} for none.
+     * @return The value derived from the authentication.
+     */
+    public @Nullable T get(@Nullable Authentication authentication) {
+        if (authentication == null) {
+            return unwrap(getAnonymousValue());
+        }
+        var value = values.get(new LookupKey(authentication));
+        if (value == null) {
+            expungeStaleEntries();
+            var key = new WeakKey(authentication, queue);
+            value = values.computeIfAbsent(key, ignored -> Objects.requireNonNullElse(derivation.apply(authentication), NULL));
+        }
+        return unwrap(value);
+    }
+
+    /**
+     * Discard this attribute's value for an authentication, if one has been
+     * derived. The value is derived again the next time it is requested.
+     *
+     * @param authentication Any authentication, or {@code null} for none.
+     */
+    public void invalidate(@Nullable Authentication authentication) {
+        if (authentication == null) {
+            anonymousValue = null;
+        } else {
+            values.remove(new LookupKey(authentication));
+        }
+    }
+
+    int size() {
+        expungeStaleEntries();
+        return values.size();
+    }
+
+    // A weak reference to null can never be matched or enqueued, so the
+    // anonymous value is kept apart from the map.
+    private Object getAnonymousValue() {
+        var value = anonymousValue;
+        if (value == null) {
+            synchronized (this) {
+                value = anonymousValue;
+                if (value == null) {
+                    value = Objects.requireNonNullElse(derivation.apply(null), NULL);
+                    anonymousValue = value;
+                }
+            }
+        }
+        return value;
+    }
+
+    private @Nullable T unwrap(Object value) {
+        @SuppressWarnings("unchecked")
+        var result = (T) (value == NULL ? null : value);
+        return result;
+    }
+
+    private void expungeStaleEntries() {
+        for (var reference = queue.poll(); reference != null; reference = queue.poll()) {
+            values.remove(reference);
+        }
+    }
+
+    private interface Key {
+
+        @Nullable Object referent();
+
+        static boolean equals(Key key, @Nullable Object other) {
+            if (key == other) {
+                return true;
+            } else if (other instanceof Key that) {
+                var referent = key.referent();
+                return referent != null && referent == that.referent();
+            } else {
+                return false;
+            }
+        }
+
+    }
+
+    private record LookupKey(Authentication referent) implements Key {
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            return Key.equals(this, other);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+
+    }
+
+    private static final class WeakKey extends WeakReference<Authentication> implements Key {
+
+        private final int hashCode;
+
+        WeakKey(Authentication referent, ReferenceQueue<Authentication> queue) {
+            super(referent, queue);
+            this.hashCode = System.identityHashCode(referent);
+        }
+
+        @Override
+        public @Nullable Object referent() {
+            return get();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            return Key.equals(this, other);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * An access policy which can check many intents at once. When this library
+ * needs to check several intents of the same type, such as when determining
+ * which users may perform an operation, it offers them to batch policies as a
+ * group. This allows policies backed by a database to replace one query per
+ * intent with a single set-based query.
+ *
+ * <p>Batch policies may also be used for individual intents, and are ordered
+ * and applied exactly like any other access policy. Policies which are often
+ * applied to individual intents by many threads at once may opt into
+ * micro-batching by overriding {@link #getBatchWindow()}: individual intents
+ * are then collected for up to that long, or until {@link #getMaxBatchSize()}
+ * intents are waiting, and checked together. Checks made while a batch is
+ * being checked, such as by another policy that {@link #applyAll(List)} relies
+ * on, are never batched: they're applied at once on the same thread.</p>
+ *
+ * @param <I> The type of intent to which this policy applies.
+ */
+public interface BatchAccessPolicy<I> extends AccessPolicy<I> {
+
+    /**
+     * Check if several intents are permitted. The intents may be for different
+     * users, different source objects, or both.
+     *
+     * @param intents The intents being checked.
+     * @return A list with one element per intent, in the same order as the
+     * intents. Each element is a callback that creates an exception describing
+     * the reason for denial, if access is denied, or {@code null} if access is
+     * permitted.
+     */
+    List<AccessPolicy.Denial> applyAll(List<? extends I> intents);
+
+    /**
+     * Check if an intent is permitted for some user.
+     *
+     * @implSpec The default implementation calls {@link #applyAll(List)} with a
+     * single intent.
+     *
+     * @param intent The intent being checked.
+     * @return A callback that creates an exception describing the reason for
+     * denial, if access is denied, or {@code null} if access is permitted.
+     */
+    @Override
+    default @Nullable Denial apply(I intent) {
+        return applyAll(List.of(intent)).get(0);
+    }
+
+    /**
+     * Get the longest time an individual intent may wait for others to be
+     * checked with it. This bounds the latency micro-batching adds to a check.
+     *
+     * @implSpec The default implementation returns zero, which disables
+     * micro-batching.
+     *
+     * @return The batch window, or zero to check individual intents at once.
+     */
+    default Duration getBatchWindow() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Get the number of waiting intents which causes a micro-batch to be
+     * checked before its window elapses.
+     *
+     * @implSpec The default implementation returns 100.
+     *
+     * @return The maximum number of intents to check together.
+     */
+    default int getMaxBatchSize() {
+        return 100;
+    }
+
+}
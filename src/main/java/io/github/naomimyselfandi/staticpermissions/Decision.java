@@ -0,0 +1,70 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Objects;
+
+/**
+ * The outcome of checking a single source object. Exactly one of the intent
+ * object and the denial is present; the intent object is only available if
+ * access was permitted.
+ *
+ * @param source The source object that was checked.
+ * @param intent The intent object, if access was permitted.
+ * @param denial The reason for denial, if access was denied.
+ * @param <I> The intent type that was checked.
+ * @see StaticPermissionService#partition(java.util.stream.Stream, Class)
+ */
+public record Decision<I extends Intent>(
+        Object source,
+        @Nullable I intent,
+        @Nullable AccessPolicy.Denial denial
+) {
+
+    /**
+     * Create a decision.
+     *
+     * @throws IllegalArgumentException if both or neither of the intent object
+     * and the denial are present.
+     */
+    public Decision {
+        Objects.requireNonNull(source);
+        if ((intent == null) == (denial == null)) {
+            throw new IllegalArgumentException("A decision needs exactly one of an intent and a denial.");
+        }
+    }
+
+    /**
+     * Create a decision permitting access.
+     *
+     * @param source The source object that was checked.
+     * @param intent The intent object.
+     * @return The decision.
+     * @param <I> The intent type that was checked.
+     */
+    public static <I extends Intent> Decision<I> permitted(Object source, I intent) {
+        return new Decision<>(source, Objects.requireNonNull(intent), null);
+    }
+
+    /**
+     * Create a decision denying access.
+     *
+     * @param source The source object that was checked.
+     * @param denial The reason for denial.
+     * @return The decision.
+     * @param <I> The intent type that was checked.
+     */
+    public static <I extends Intent> Decision<I> denied(Object source, AccessPolicy.Denial denial) {
+        return new Decision<>(source, null, Objects.requireNonNull(denial));
+    }
+
+    /**
+     * Check if access was permitted.
+     *
+     * @return True if access was permitted, and false otherwise.
+     */
+    public boolean isPermitted() {
+        return intent != null;
+    }
+
+}
@@ -0,0 +1,44 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+/**
+ * An inexpensive exception for denying access. Denial exceptions don't record
+ * a stack trace or suppressed exceptions, so a single instance can be created
+ * ahead of time and thrown any number of times, by any number of threads:
+ *
+ * <pre>{@code
+ * private static final DenialException NOT_FOUND = new DenialException("Document not found.");
+ *
+ * public @Nullable Denial apply(DocumentAccess request) {
+ *     return isVisible(request) ? null : NOT_FOUND.toDenial();
+ * }
+ * }</pre>
+ *
+ * <p>Since a preallocated exception's stack trace would be meaningless anyway,
+ * nothing is lost by omitting it; the message, and the context in which the
+ * exception is eventually caught, identify the reason for denial. Applications
+ * may extend this class, for example to carry an HTTP status.</p>
+ */
+public class DenialException extends RuntimeException {
+
+    private final transient AccessPolicy.Denial denial = () -> this;
+
+    /**
+     * Create a denial exception.
+     *
+     * @param message The exception's detail message.
+     */
+    public DenialException(String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * Get a denial which throws this exception. The same denial is returned
+     * every time, so denying access with it doesn't allocate.
+     *
+     * @return A denial which produces this exception.
+     */
+    public final AccessPolicy.Denial toDenial() {
+        return denial;
+    }
+
+}
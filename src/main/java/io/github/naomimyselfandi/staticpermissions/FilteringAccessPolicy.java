@@ -0,0 +1,51 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+
+/**
+ * An access policy which can also express itself as a query filter. List
+ * endpoints usually need to find every resource a user may access; applying a
+ * policy to each candidate row is wasteful when the same rule could be pushed
+ * down into the query itself.
+ *
+ * <p>The filter type is up to the application; typical choices are a JPA
+ * {@code Specification}, a jOOQ {@code Condition}, or a SQL fragment builder.
+ * A filter must select exactly the resources for which {@link #apply(Object)}
+ * would permit an intent created for the same user.</p>
+ *
+ * @param <I> The type of intent to which this policy applies.
+ * @param <F> The type of filter this policy produces.
+ * @see StaticPermissionService#getFilters(Class, Class)
+ */
+public interface FilteringAccessPolicy<I, F> extends AccessPolicy<I> {
+
+    /**
+     * Get a filter which selects the resources a user may access.
+     *
+     * @param authentication The user to create a filter for.
+     * @return A filter selecting the resources the user may access, or
+     * {@code null} if this policy does not restrict the user at all.
+     */
+    @Nullable F getFilter(Authentication authentication);
+
+    /**
+     * Get the type of filter this policy produces.
+     *
+     * @implNote The default implementation resolves the type reflectively. This
+     * will not work if type information is unavailable, typically because this
+     * implementation is generic or a lambda.
+     *
+     * @return The type of filter this policy produces.
+     */
+    default Class<F> getFilterType() {
+        @SuppressWarnings("unchecked")
+        var type = (Class<F>) ResolvableType
+                .forClass(FilteringAccessPolicy.class, getClass())
+                .getGeneric(1)
+                .toClass();
+        return type;
+    }
+
+}
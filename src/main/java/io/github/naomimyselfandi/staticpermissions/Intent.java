@@ -1,9 +1,12 @@
 package io.github.naomimyselfandi.staticpermissions;
 
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 
 import java.lang.annotation.*;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * A description of an operation requiring permission checks. Instances of an
@@ -33,6 +36,84 @@ public interface Intent {
     @Retention(RetentionPolicy.RUNTIME)
     @interface NotProperty {}
 
+    /**
+     * Indicate that the annotated method's result should be computed at most
+     * once per intent object. This may be used on {@code default} methods
+     * without parameters which derive a value from the intent's properties and
+     * are expensive to call repeatedly, such as parsing or hashing. The result
+     * is safely published to all threads. If the method throws, nothing is
+     * stored, and it is called again the next time.
+     *
+     * <p>If the annotated method is an optional property and the source object
+     * provides a value for it, that value is used as usual.</p>
+     */
+    @Documented
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Memoized {}
+
+    /**
+     * Indicate that the annotated property should be extracted lazily. The
+     * property's presence is still checked when the intent object is created,
+     * but its value is only extracted and converted the first time it is
+     * needed, and is then stored; if access is denied before any access policy
+     * reads it, it is never extracted at all. This is useful for large
+     * properties, such as a document's content.
+     *
+     * <p>The intent object retains its source object until every lazy property
+     * has been extracted, so the source object should not be modified in the
+     * meantime. Viewing the intent object as a {@linkplain #__data__() map}
+     * extracts all lazy properties. Comparing or hashing intent objects does
+     * not: a lazy property's value is equal to another's if both come from
+     * equal source objects, and an intent object with lazy properties is
+     * never equal to one without. An unextracted value is shown as
+     * {@code (not loaded)} in the intent object's string representation.</p>
+     */
+    @Documented
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Lazy {}
+
+    /**
+     * A store for objects loaded while an intent object was being checked. An
+     * access policy often needs to load the entity an intent refers to, and the
+     * service receiving the intent typically needs the same entity. Attaching
+     * it to the intent object allows them to share a single copy.
+     *
+     * <p>Each intent object has its own attachments, which do not participate
+     * in its equality and are not included in its string representation.
+     * Implementations are thread-safe.</p>
+     */
+    interface Attachments {
+
+        /**
+         * Get an attachment, loading it if it is not present. If the loader
+         * returns {@code null}, nothing is attached.
+         *
+         * @param key The attachment's key.
+         * @param type The attachment's expected type.
+         * @param loader A callback that loads the attachment.
+         * @return The attachment, or {@code null} if the loader returned it.
+         * @param <T> The attachment's expected type.
+         * @throws ClassCastException if the attachment is not of the expected
+         * type.
+         */
+        @Nullable <T> T computeIfAbsent(String key, Class<T> type, Supplier<? extends T> loader);
+
+        /**
+         * Get an attachment, if it is present.
+         *
+         * @param key The attachment's key.
+         * @param type The attachment's expected type.
+         * @return The attachment, if it is present.
+         * @param <T> The attachment's expected type.
+         * @throws ClassCastException if the attachment is not of the expected
+         * type.
+         */
+        <T> Optional<T> get(String key, Class<T> type);
+
+    }
+
     /**
      * Get the authentication for which an intent object was created.
      *
@@ -45,6 +126,18 @@ public interface Intent {
         return intent.__auth__();
     }
 
+    /**
+     * Get the attachments for an intent object.
+     *
+     * @implSpec This is an alias for {@link #__attachments__()}.
+     *
+     * @param intent Any intent object.
+     * @return The intent object's attachments.
+     */
+    static Attachments getAttachments(Intent intent) {
+        return intent.__attachments__();
+    }
+
     /**
      * Get the authentication for which this intent object was created.
      *
@@ -69,4 +162,16 @@ public interface Intent {
     @NotProperty
     Map<String, Object> __data__();
 
+    /**
+     * Get the objects attached to this intent object.
+     *
+     * @apiNote This method is named to avoid conflicts with intent properties.
+     * Consider using {@link #getAttachments(Intent)} instead of calling this
+     * method directly.
+     *
+     * @return This intent object's attachments.
+     */
+    @NotProperty
+    Attachments __attachments__();
+
 }
@@ -0,0 +1,52 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+/**
+ * A codec for signed intent tokens. When one service has already checked an
+ * intent, it can encode the intent as a token and pass it to another service,
+ * which can then decode a trusted intent object without applying any access
+ * policies. A codec may be autowired.
+ *
+ * <p>Tokens are compact binary values containing the intent type, the
+ * intent's property values, the authenticated user's name, and an expiry time,
+ * followed by an HMAC-SHA256 signature. Property values are stored as strings
+ * using Spring's conversion service, so every property must be convertible to
+ * and from a string, and must convert back to an equal value; for example, a
+ * list element containing a comma can't be encoded. Tokens are not encrypted, so they should not carry
+ * secrets.</p>
+ */
+public interface IntentTokenCodec {
+
+    /**
+     * Encode an intent object as a signed token.
+     *
+     * @param intent An intent object created by this library.
+     * @param timeToLive How long the token should remain valid.
+     * @param key The key to sign the token with.
+     * @return A buffer containing the token, positioned at its start.
+     * @throws IllegalArgumentException if the intent object was not created by
+     * this library or was created without an authentication, or if a property
+     * value cannot be converted to a string and back to an equal value.
+     */
+    ByteBuffer encode(Intent intent, Duration timeToLive, SecretKey key);
+
+    /**
+     * Decode a signed token into an intent object for the authenticated user.
+     * The token's signature is verified before anything else is read from it,
+     * and the buffer's position is not changed.
+     *
+     * @param token A buffer containing the token between its position and its
+     *              limit.
+     * @param type The intent type to decode.
+     * @param key The key the token was signed with.
+     * @return The decoded intent object.
+     * @throws IllegalArgumentException if the token is malformed, its signature
+     * is invalid, it has expired, it is for another intent type, or it was
+     * issued to a different user.
+     */
+    <I extends Intent> I decode(ByteBuffer token, Class<I> type, SecretKey key);
+
+}
@@ -0,0 +1,34 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+/**
+ * Invalidation controls for materialized decisions. Applications which define
+ * a {@link PermissionIndexDefinition} must invalidate its decisions whenever
+ * the facts its access policies depend on change.
+ */
+public interface PermissionIndex {
+
+    /**
+     * Discard all decisions about a resource, typically because it changed.
+     *
+     * @param type The indexed intent type.
+     * @param ordinal The resource's ordinal.
+     */
+    void invalidate(Class<? extends Intent> type, int ordinal);
+
+    /**
+     * Discard all decisions for a principal, typically because their roles or
+     * group memberships changed.
+     *
+     * @param type The indexed intent type.
+     * @param principal The principal's key.
+     */
+    void invalidatePrincipal(Class<? extends Intent> type, Object principal);
+
+    /**
+     * Discard all decisions for an intent type.
+     *
+     * @param type The indexed intent type.
+     */
+    void invalidateAll(Class<? extends Intent> type);
+
+}
@@ -0,0 +1,101 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+/**
+ * An opt-in description of an intent type whose decisions should be
+ * materialized. Decisions for such intent types are stored as bitmaps of
+ * resource ordinals per principal, which are consulted before any access
+ * policies are applied. Definitions may be registered simply by defining them
+ * as Spring beans.
+ *
+ * <p>Only permitted decisions are materialized; if an intent is not known to be
+ * permitted, its access policies are applied as usual, and the decision is
+ * recorded. The first time a principal is seen, the decisions for each of the
+ * {@linkplain #getSources() sources} are computed in the background. Stored
+ * decisions are trusted until they are invalidated through the
+ * {@link PermissionIndex}, so this is only appropriate for intent types whose
+ * decisions change rarely.</p>
+ *
+ * <p>The index is only consulted for intents of exactly this type, not for its
+ * subtypes.</p>
+ *
+ * @param <I> The type of intent to which this definition applies.
+ */
+public interface PermissionIndexDefinition<I extends Intent> {
+
+    /**
+     * Get the ordinal of the resource an intent refers to. Ordinals should be
+     * small, dense, non-negative integers, such as a sequential primary key.
+     *
+     * @param intent The intent being checked.
+     * @return The resource's ordinal, or a negative number if the intent should
+     * not be indexed.
+     */
+    int getOrdinal(I intent);
+
+    /**
+     * Get the key identifying an authentication's principal. Decisions are
+     * shared between all authentications with equal keys.
+     *
+     * @implSpec The default implementation returns the authentication's name.
+     *
+     * @param authentication The authentication being checked.
+     * @return The principal's key, or {@code null} if the authentication should
+     * not be indexed.
+     */
+    default @Nullable Object getPrincipal(Authentication authentication) {
+        return authentication.getName();
+    }
+
+    /**
+     * Get source objects for the resources whose decisions should be computed
+     * in the background when a principal is first seen. Builds run one at a
+     * time on a dedicated thread; a source which can't be checked is logged
+     * and skipped.
+     *
+     * @implSpec The default implementation returns an empty list, so decisions
+     * are only recorded as they are made.
+     *
+     * @return Source objects for this definition's intent type.
+     */
+    default Iterable<?> getSources() {
+        return List.of();
+    }
+
+    /**
+     * Get the approximate number of bytes the index for this intent type may
+     * use. When the budget is exceeded, the least recently used principals are
+     * evicted.
+     *
+     * @implSpec The default implementation returns 16 MiB.
+     *
+     * @return The memory budget, in bytes.
+     */
+    default long getMemoryBudget() {
+        return 16L << 20;
+    }
+
+    /**
+     * Get the intent type to which this definition applies.
+     *
+     * @implNote The default implementation resolves the type reflectively. This
+     * will not work if type information is unavailable, typically because this
+     * implementation is generic or a lambda.
+     *
+     * @return The intent type to which this definition applies.
+     */
+    default Class<I> getIntentType() {
+        @SuppressWarnings("unchecked")
+        var type = (Class<I>) ResolvableType
+                .forClass(PermissionIndexDefinition.class, getClass())
+                .getGeneric()
+                .toClass();
+        return type;
+    }
+
+}
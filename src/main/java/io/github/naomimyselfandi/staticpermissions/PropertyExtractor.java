@@ -74,6 +74,25 @@ public interface PropertyExtractor<T> {
      */
     @Nullable Object extract(T source, Method method, String propertyName);
 
+    /**
+     * Check if a property value is available, without extracting it. This is
+     * used for {@linkplain io.github.naomimyselfandi.staticpermissions.Intent.Lazy
+     * lazy} properties, whose values are only extracted when needed.
+     *
+     * @implSpec The default implementation extracts the value and checks that
+     * it is not {@code null}. Implementations should override this if they
+     * can check more cheaply.
+     *
+     * @param source The object to check.
+     * @param method The intent type method defining the property.
+     * @param propertyName The property's name.
+     * @return True if a value is available, even if it is not the correct type,
+     * and false otherwise.
+     */
+    default boolean isPresent(T source, Method method, String propertyName) {
+        return extract(source, method, propertyName) != null;
+    }
+
     /**
      * Get the type from which this implementation can extract values.
      *
@@ -4,7 +4,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * The low-level service that manages permission checks. This service is
@@ -87,6 +92,256 @@ public interface StaticPermissionService {
         }
     }
 
+    /**
+     * Convert several source objects to intent objects at once. All permission
+     * checks are performed for the authenticated user.
+     *
+     * <p>This is equivalent to calling {@link #require(Object, Class)} for each
+     * source object, except that identical intent objects are only checked
+     * once, and the distinct intent objects are checked together: they are
+     * offered to each {@link BatchAccessPolicy} as a group, and all other
+     * policies are applied to them one at a time on the calling thread.</p>
+     *
+     * @param sources The objects to convert to intent objects.
+     * @param type The intent type to convert to.
+     * @return The converted intent objects, in the same order as the source
+     * objects. Source objects which produce identical intent objects share a
+     * single intent object.
+     * @throws IllegalArgumentException if a source object is not a valid
+     * source for the intent type.
+     * @throws RuntimeException if a permission check fails. The specific kind
+     * of exception is specified by the policy which denied the first failing
+     * intent object.
+     */
+    <I extends Intent> List<I> requireAll(Collection<?> sources, Class<I> type);
+
+    /**
+     * Check several source objects at once, without failing if some of them
+     * are denied. All permission checks are performed for the authenticated
+     * user.
+     *
+     * <p>Source objects are converted and checked exactly as they are by
+     * {@link #requireAll(Collection, Class)}: identical intent objects are only
+     * checked once, and the distinct intent objects are checked together.</p>
+     *
+     * @param sources The objects to convert to intent objects.
+     * @param type The intent type to convert to.
+     * @return A decision for each source object, in the same order as the
+     * source objects.
+     * @throws IllegalArgumentException if a source object is not a valid
+     * source for the intent type.
+     */
+    <I extends Intent> List<Decision<I>> decideAll(Collection<?> sources, Class<I> type);
+
+    /**
+     * Check which of several intent types a source object may be converted to.
+     * All permission checks are performed for the authenticated user.
+     *
+     * <p>This is equivalent to calling {@link #request(Object, Class)} for each
+     * type, except that an access policy shared by several of the types, such
+     * as a policy for a common supertype, is only checked once. A shared policy
+     * is checked against the first intent object it applies to, so it should
+     * only depend on the properties declared by its own intent type.</p>
+     *
+     * @param source The object to convert to intent objects.
+     * @param types The intent types to check.
+     * @return A map from each intent type to whether all of its permission
+     * checks succeeded, in the iteration order of the given types.
+     * @throws IllegalArgumentException if the source object is not a valid
+     * source for one of the intent types.
+     */
+    Map<Class<? extends Intent>, Boolean> capabilities(Object source, Set<Class<? extends Intent>> types);
+
+    /**
+     * Check which of several intent types a source object may be converted to.
+     *
+     * @param source The object to convert to intent objects.
+     * @param types The intent types to check.
+     * @param authentication The user to perform permission checks for.
+     * @return A map from each intent type to whether all of its permission
+     * checks succeeded, in the iteration order of the given types.
+     * @throws IllegalArgumentException if the source object is not a valid
+     * source for one of the intent types.
+     * @see #capabilities(Object, Set)
+     */
+    default Map<Class<? extends Intent>, Boolean> capabilities(
+            Object source,
+            Set<Class<? extends Intent>> types,
+            Authentication authentication
+    ) {
+        var originalAuthentication = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            return capabilities(source, types);
+        } finally {
+            SecurityContextHolder.getContext().setAuthentication(originalAuthentication);
+        }
+    }
+
+    /**
+     * Convert an existing intent object to another intent type, adding some
+     * property values. All permission checks are performed for the
+     * authenticated user, who must be the user the existing intent object was
+     * created for.
+     *
+     * <p>The existing intent object's property values are copied directly,
+     * without consulting a {@link PropertyExtractor}, and the additional values
+     * are converted to their properties' types by the conversion service.
+     * Access policies which
+     * apply to the existing intent object's type have already been satisfied,
+     * so only the policies the new type adds are applied. The new intent
+     * object shares the existing one's {@linkplain Intent.Attachments
+     * attachments}.</p>
+     *
+     * @param original An intent object created by this library.
+     * @param type The intent type to convert to.
+     * @param additional Additional property values, keyed by property name.
+     *                   These must name properties of the new type, but
+     *                   not of the existing intent object's type, even one
+     *                   it left empty.
+     * @return The converted intent object.
+     * @throws IllegalArgumentException if the existing intent object was not
+     * created by this library or was created for a different user, or if an
+     * additional property value names a property of the existing intent
+     * object's type or no property of the new type.
+     * @throws java.util.NoSuchElementException if an additional value has the
+     * wrong type, or a required property of the new type has no value.
+     * @throws RuntimeException if a permission check fails. The specific kind
+     * of exception is specified by the policy which denied the request.
+     */
+    <I extends Intent> I refine(Intent original, Class<I> type, Map<String, ?> additional);
+
+    /**
+     * Determine which of several users may perform an operation. The source
+     * object is converted once, and an intent object is created for each user
+     * from the same property values.
+     *
+     * <p>Intents are offered to each {@link BatchAccessPolicy} as a group. All
+     * other policies are applied to each intent individually, in parallel on
+     * the common fork/join pool; such policies should inspect the intent's
+     * authentication rather than the {@code SecurityContextHolder}, and
+     * shouldn't rely on other thread-bound state. Single checks, and the
+     * collections checked by {@link #requireAll(Collection, Class)}, always
+     * stay on the calling thread.</p>
+     *
+     * @param source The object to convert to intent objects.
+     * @param type The intent type to convert to.
+     * @param authentications The users to perform permission checks for.
+     * @return The users for whom all permission checks succeed, in the order
+     * they were given.
+     * @throws IllegalArgumentException if the source object is not a valid
+     * source for the intent type.
+     */
+    <I extends Intent> List<Authentication> audience(
+            Object source,
+            Class<I> type,
+            Collection<? extends Authentication> authentications
+    );
+
+    /**
+     * Determine which of a stream of users may perform an operation.
+     *
+     * @implSpec The default implementation collects the stream and calls
+     * {@link #audience(Object, Class, Collection)}.
+     *
+     * @param source The object to convert to intent objects.
+     * @param type The intent type to convert to.
+     * @param authentications The users to perform permission checks for.
+     * @return The users for whom all permission checks succeed, in encounter
+     * order.
+     * @throws IllegalArgumentException if the source object is not a valid
+     * source for the intent type.
+     */
+    default <I extends Intent> List<Authentication> audience(
+            Object source,
+            Class<I> type,
+            Stream<? extends Authentication> authentications
+    ) {
+        return audience(source, type, authentications.toList());
+    }
+
+    /**
+     * Lazily check a stream of source objects. Each source object is converted
+     * to an intent object as the returned stream is consumed, and all
+     * permission checks are performed for the user who was authenticated when
+     * this method was called.
+     *
+     * <p>If the source stream is parallel, decisions are made on the common
+     * fork/join pool, with a bounded number of source objects in flight at a
+     * time; access policies should then inspect the intent's authentication
+     * rather than the {@code SecurityContextHolder}. The returned stream is
+     * sequential either way. Decisions are produced in encounter order unless
+     * the source stream is {@linkplain Stream#unordered() unordered}, in which
+     * case they are produced as they complete.</p>
+     *
+     * @param sources The objects to convert to intent objects.
+     * @param type The intent type to convert to.
+     * @return A stream with a decision for each source object.
+     * @throws IllegalArgumentException when consumed, if a source object is
+     * not a valid source for the intent type.
+     */
+    <I extends Intent> Stream<Decision<I>> partition(Stream<?> sources, Class<I> type);
+
+    /**
+     * Lazily check a stream of source objects, keeping only the intent objects
+     * for which all permission checks succeed.
+     *
+     * @implSpec The default implementation filters the permitted decisions
+     * produced by {@link #partition(Stream, Class)}.
+     *
+     * @param sources The objects to convert to intent objects.
+     * @param type The intent type to convert to.
+     * @return A stream of the permitted intent objects.
+     * @throws IllegalArgumentException when consumed, if a source object is
+     * not a valid source for the intent type.
+     * @see #partition(Stream, Class)
+     */
+    default <I extends Intent> Stream<I> filter(Stream<?> sources, Class<I> type) {
+        return partition(sources, type).filter(Decision::isPermitted).map(Decision::intent);
+    }
+
+    /**
+     * Get the query filters which select the resources the authenticated user
+     * may access through some intent type. This allows list endpoints to filter
+     * in the database rather than checking each candidate individually.
+     *
+     * <p>Filters are only available if every access policy for the intent type
+     * is a {@link FilteringAccessPolicy} producing filters of the requested
+     * type. A resource is accessible if it matches all returned filters; the
+     * caller is responsible for combining them into a single query.</p>
+     *
+     * @param type The intent type to get filters for.
+     * @param filterType The type of filter to get.
+     * @return The filters, in the order the policies would be applied, or an
+     * empty optional if some policy cannot produce a filter of this type.
+     */
+    <F> Optional<List<F>> getFilters(Class<? extends Intent> type, Class<F> filterType);
+
+    /**
+     * Get the query filters which select the resources a user may access
+     * through some intent type.
+     *
+     * @param type The intent type to get filters for.
+     * @param filterType The type of filter to get.
+     * @param authentication The user to get filters for.
+     * @return The filters, in the order the policies would be applied, or an
+     * empty optional if some policy cannot produce a filter of this type.
+     * @see #getFilters(Class, Class)
+     */
+    default <F> Optional<List<F>> getFilters(
+            Class<? extends Intent> type,
+            Class<F> filterType,
+            Authentication authentication
+    ) {
+        var originalAuthentication = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            return getFilters(type, filterType);
+        } finally {
+            SecurityContextHolder.getContext().setAuthentication(originalAuthentication);
+        }
+    }
+
     /**
      * Remove any {@code get} or {@code is} prefix from a method's name.
      * @param method The method whose name should be normalized.
@@ -94,4 +349,14 @@ public interface StaticPermissionService {
      */
     String normalizeMethodName(Method method);
 
+    /**
+     * Get an intent type's properties. This is intended for integrations which
+     * bind property values themselves, such as streaming deserializers.
+     *
+     * @param type The intent type to inspect.
+     * @return An unmodifiable map from each property's name to the method that
+     * defines it.
+     */
+    Map<String, Method> getProperties(Class<? extends Intent> type);
+
 }
@@ -0,0 +1,43 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+final class AttachmentsImpl implements Intent.Attachments {
+
+    private final Map<String, Object> attachments = new ConcurrentHashMap<>();
+
+    @Override
+    public @Nullable <T> T computeIfAbsent(String key, Class<T> type, Supplier<? extends T> loader) {
+        var existing = attachments.get(key);
+        if (existing == null) {
+            // Loaders commonly attach other objects, which ConcurrentHashMap's
+            // own computeIfAbsent doesn't allow, so we load outside the map.
+            var loaded = type.cast(loader.get());
+            if (loaded == null) {
+                return null;
+            }
+            existing = attachments.putIfAbsent(key, loaded);
+            if (existing == null) {
+                return loaded;
+            }
+        }
+        return type.cast(existing);
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        return Optional.ofNullable(attachments.get(key)).map(type::cast);
+    }
+
+    @Override
+    public String toString() {
+        return "Attachments" + attachments.keySet();
+    }
+
+}
@@ -0,0 +1,11 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.BatchAccessPolicy;
+import org.springframework.lang.Nullable;
+
+interface BatchDispatcher {
+
+    @Nullable <I> AccessPolicy.Denial apply(BatchAccessPolicy<I> policy, I intent);
+
+}
@@ -0,0 +1,165 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.BatchAccessPolicy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+class BatchDispatcherImpl implements BatchDispatcher {
+
+    // Set while this thread evaluates a batch. A batched check waits for a
+    // timer on the scheduler, so one made from inside a batch could deadlock
+    // once every scheduler thread is busy evaluating; it's applied directly.
+    private static final ThreadLocal<Boolean> EVALUATING = ThreadLocal.withInitial(() -> false);
+
+    private final Map<BatchAccessPolicy<?>, Batcher<?>> batchers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    BatchDispatcherImpl() {
+        this(Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            var thread = new Thread(runnable, "static-permissions-batch");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    BatchDispatcherImpl(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public @Nullable <I> AccessPolicy.Denial apply(BatchAccessPolicy<I> policy, I intent) {
+        var window = policy.getBatchWindow().toNanos();
+        if (window <= 0 || scheduler.isShutdown() || EVALUATING.get()) {
+            return policy.apply(intent);
+        }
+        @SuppressWarnings("unchecked")
+        var batcher = (Batcher<I>) batchers.computeIfAbsent(policy, it -> new Batcher<>(policy, window));
+        try {
+            return batcher.submit(intent).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+        batchers.values().forEach(Batcher::flush);
+    }
+
+    private record Waiter<I>(I intent, CompletableFuture<AccessPolicy.Denial> future) {}
+
+    private final class Batcher<I> {
+
+        private final BatchAccessPolicy<I> policy;
+        private final long window;
+        private final int maxSize;
+        private List<Waiter<I>> waiters; // guarded by this
+        private @Nullable ScheduledFuture<?> timer; // guarded by this
+        private long generation; // guarded by this
+
+        Batcher(BatchAccessPolicy<I> policy, long window) {
+            this.policy = policy;
+            this.window = window;
+            this.maxSize = Math.max(policy.getMaxBatchSize(), 1);
+            this.waiters = new ArrayList<>(maxSize);
+        }
+
+        CompletableFuture<AccessPolicy.Denial> submit(I intent) {
+            var future = new CompletableFuture<AccessPolicy.Denial>();
+            List<Waiter<I>> full = null;
+            synchronized (this) {
+                waiters.add(new Waiter<>(intent, future));
+                if (waiters.size() >= maxSize) {
+                    full = take();
+                } else if (waiters.size() == 1) {
+                    var expected = generation;
+                    try {
+                        timer = scheduler.schedule(() -> flush(expected), window, TimeUnit.NANOSECONDS);
+                    } catch (RejectedExecutionException e) {
+                        full = take(); // Shutting down, so nothing would flush it.
+                    }
+                }
+            }
+            if (full != null) {
+                evaluate(full);
+            }
+            return future;
+        }
+
+        void flush() {
+            List<Waiter<I>> batch;
+            synchronized (this) {
+                batch = take();
+            }
+            evaluate(batch);
+        }
+
+        // A timer can fire after its batch was taken for being full; it then
+        // belongs to an older generation and mustn't cut the next batch short.
+        private void flush(long expected) {
+            List<Waiter<I>> batch;
+            synchronized (this) {
+                if (generation != expected) {
+                    return;
+                }
+                batch = take();
+            }
+            evaluate(batch);
+        }
+
+        private List<Waiter<I>> take() {
+            var batch = waiters;
+            waiters = new ArrayList<>(maxSize);
+            generation++;
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            return batch;
+        }
+
+        private void evaluate(List<Waiter<I>> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            EVALUATING.set(true);
+            try {
+                var results = policy.applyAll(batch.stream().map(Waiter::intent).toList());
+                if (results.size() != batch.size()) {
+                    var message = "%s returned %d results for %d intents.".formatted(policy, results.size(), batch.size());
+                    throw new IllegalStateException(message);
+                }
+                for (var i = 0; i < batch.size(); i++) {
+                    batch.get(i).future.complete(results.get(i));
+                }
+            } catch (RuntimeException | Error e) {
+                batch.forEach(waiter -> waiter.future.completeExceptionally(e));
+            } finally {
+                EVALUATING.set(false);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,17 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import org.springframework.lang.Nullable;
+
+interface DecisionIndex {
+
+    interface Lookup {
+
+        boolean isPermitted();
+
+        void record(boolean permitted);
+
+    }
+
+    @Nullable Lookup lookup(Object intent, Class<?> type);
+
+}
@@ -0,0 +1,313 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.PermissionIndex;
+import io.github.naomimyselfandi.staticpermissions.PermissionIndexDefinition;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+@CommonsLog
+class DecisionIndexImpl implements DecisionIndex, PermissionIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    // A rough estimate of a bitmap's fixed cost, including its map entry.
+    private static final long OVERHEAD = 96;
+
+    private final Map<Class<?>, TypeIndex<?>> indexes;
+    private final Supplier<StaticPermissionService> staticPermissionService;
+    private final Executor executor;
+
+    @Autowired
+    DecisionIndexImpl(
+            ObjectProvider<PermissionIndexDefinition<?>> definitions,
+            ObjectProvider<StaticPermissionService> staticPermissionService
+    ) {
+        // Builds make ordinary, possibly blocking permission checks, so they get
+        // a thread of their own rather than a shared pool.
+        this(definitions.orderedStream().toList(), staticPermissionService::getObject, Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "static-permissions-index");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    DecisionIndexImpl(
+            List<PermissionIndexDefinition<?>> definitions,
+            Supplier<StaticPermissionService> staticPermissionService,
+            Executor executor
+    ) {
+        this.indexes = definitions
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(PermissionIndexDefinition::getIntentType, it -> new TypeIndex<>(it)));
+        this.staticPermissionService = staticPermissionService;
+        this.executor = executor;
+    }
+
+    @Override
+    public @Nullable Lookup lookup(Object intent, Class<?> type) {
+        var index = indexes.isEmpty() ? null : indexes.get(type);
+        return index == null ? null : index.lookup(intent);
+    }
+
+    @Override
+    public void invalidate(Class<? extends Intent> type, int ordinal) {
+        var index = indexes.get(type);
+        if (index != null) {
+            index.generation.incrementAndGet();
+            for (var bitmap : index.bitmaps.values()) {
+                index.resized(bitmap.set(ordinal, false));
+            }
+        }
+    }
+
+    @Override
+    public void invalidatePrincipal(Class<? extends Intent> type, Object principal) {
+        var index = indexes.get(type);
+        if (index != null) {
+            index.generation.incrementAndGet();
+            index.remove(principal);
+        }
+    }
+
+    @Override
+    public void invalidateAll(Class<? extends Intent> type) {
+        var index = indexes.get(type);
+        if (index != null) {
+            index.generation.incrementAndGet();
+            index.bitmaps.keySet().forEach(index::remove);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    private final class TypeIndex<I extends Intent> {
+
+        final PermissionIndexDefinition<I> definition;
+        final Map<Object, Bitmap> bitmaps = new ConcurrentHashMap<>();
+        final AtomicLong generation = new AtomicLong();
+        final AtomicLong footprint = new AtomicLong();
+        final AtomicLong clock = new AtomicLong();
+
+        TypeIndex(PermissionIndexDefinition<I> definition) {
+            this.definition = definition;
+        }
+
+        @Nullable Lookup lookup(Object intent) {
+            var typed = definition.getIntentType().cast(intent);
+            var ordinal = definition.getOrdinal(typed);
+            var authentication = Intent.getAuthentication(typed);
+            var principal = (ordinal < 0 || authentication == null) ? null : definition.getPrincipal(authentication);
+            if (principal == null) {
+                return null;
+            }
+            var bitmap = bitmaps.get(principal);
+            if (bitmap == null) {
+                var created = new Bitmap();
+                created.lastUsed = clock.incrementAndGet();
+                bitmap = bitmaps.putIfAbsent(principal, created);
+                if (bitmap == null) {
+                    bitmap = created;
+                    resized(created.size());
+                }
+            }
+            bitmap.lastUsed = clock.incrementAndGet();
+            if (bitmap.building.compareAndSet(false, true)) {
+                var built = bitmap;
+                try {
+                    executor.execute(() -> build(principal, built, typed));
+                } catch (RejectedExecutionException e) {
+                    // Shutting down; the bitmap still fills in as checks run.
+                }
+            }
+            return new LookupImpl(this, bitmap, ordinal, generation.get());
+        }
+
+        private void build(Object principal, Bitmap bitmap, I intent) {
+            var service = staticPermissionService.get();
+            var type = definition.getIntentType();
+            var authentication = Intent.getAuthentication(intent);
+            bitmap.stage();
+            try {
+                for (var source : definition.getSources()) {
+                    if (bitmaps.get(principal) != bitmap) {
+                        return; // Invalidated or evicted while we were working.
+                    }
+                    try {
+                        service.request(source, type, authentication);
+                    } catch (RuntimeException e) {
+                        // The index is only an optimization, so a source which
+                        // can't be checked is left out of it.
+                        log.warn("Couldn't check %s while indexing %s.".formatted(source, type.getName()), e);
+                    }
+                }
+            } finally {
+                var growth = bitmap.publish();
+                if (bitmaps.get(principal) == bitmap) {
+                    resized(growth);
+                }
+            }
+        }
+
+        void remove(Object principal) {
+            var removed = bitmaps.remove(principal);
+            if (removed != null) {
+                footprint.addAndGet(-removed.size());
+            }
+        }
+
+        void resized(long bytes) {
+            if (bytes != 0 && footprint.addAndGet(bytes) > definition.getMemoryBudget()) {
+                evict();
+            }
+        }
+
+        private synchronized void evict() {
+            var entries = bitmaps
+                    .entrySet()
+                    .stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsed))
+                    .toList();
+            var total = entries.stream().mapToLong(entry -> entry.getValue().size()).sum();
+            var budget = definition.getMemoryBudget();
+            for (var entry : entries) {
+                if (total <= budget) {
+                    break;
+                }
+                if (bitmaps.remove(entry.getKey(), entry.getValue())) {
+                    total -= entry.getValue().size();
+                }
+            }
+            footprint.set(total);
+        }
+
+    }
+
+    private static final class Bitmap {
+
+        // Bits are only read from immutable snapshots, so reads need no locks.
+        volatile long[] words = EMPTY;
+        volatile long lastUsed;
+        final AtomicBoolean building = new AtomicBoolean();
+
+        // While a build runs, bits are set in this private copy and published
+        // once at the end, rather than copying the snapshot for every source.
+        // Cleared bits go to both, so invalidation takes effect immediately.
+        private @Nullable long[] staged; // guarded by this
+
+        boolean get(int ordinal) {
+            return get(words, ordinal);
+        }
+
+        synchronized void stage() {
+            staged = words.clone();
+        }
+
+        // Returns the change in size, in bytes.
+        synchronized long publish() {
+            var snapshot = words;
+            var updated = staged;
+            if (updated == null) {
+                return 0;
+            }
+            staged = null;
+            var length = updated.length;
+            while (length > 0 && updated[length - 1] == 0) {
+                length--;
+            }
+            words = Arrays.copyOf(updated, length);
+            return 8L * (length - snapshot.length);
+        }
+
+        // Returns the change in size, in bytes.
+        synchronized long set(int ordinal, boolean value) {
+            var snapshot = words;
+            var index = ordinal >>> 6;
+            var buffer = staged;
+            if (buffer != null && value) {
+                if (index >= buffer.length) {
+                    buffer = staged = Arrays.copyOf(buffer, Math.max(index + 1, 2 * buffer.length));
+                }
+                buffer[index] |= 1L << ordinal;
+                return 0;
+            } else if (buffer != null && index < buffer.length) {
+                buffer[index] &= ~(1L << ordinal);
+            }
+            if (value == get(ordinal)) {
+                return 0;
+            } else if (value) {
+                var updated = Arrays.copyOf(snapshot, Math.max(snapshot.length, index + 1));
+                updated[index] |= 1L << ordinal;
+                words = updated;
+            } else {
+                var updated = snapshot.clone();
+                updated[index] &= ~(1L << ordinal);
+                var length = updated.length;
+                while (length > 0 && updated[length - 1] == 0) {
+                    length--;
+                }
+                words = length == updated.length ? updated : Arrays.copyOf(updated, length);
+            }
+            return 8L * (words.length - snapshot.length);
+        }
+
+        long size() {
+            return OVERHEAD + 8L * words.length;
+        }
+
+        private static boolean get(long[] words, int ordinal) {
+            var index = ordinal >>> 6;
+            return index < words.length && (words[index] & (1L << ordinal)) != 0;
+        }
+
+    }
+
+    private record LookupImpl(TypeIndex<?> index, Bitmap bitmap, int ordinal, long generation) implements Lookup {
+
+        @Override
+        public boolean isPermitted() {
+            return bitmap.get(ordinal);
+        }
+
+        @Override
+        public void record(boolean permitted) {
+            long growth;
+            synchronized (bitmap) {
+                // Invalidation bumps the generation before clearing bits under
+                // this lock, so a decision made from stale facts is discarded.
+                if (index.generation.get() != generation) {
+                    return;
+                }
+                growth = bitmap.set(ordinal, permitted);
+            }
+            index.resized(growth);
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import org.springframework.lang.Nullable;
+
+import java.util.NoSuchElementException;
+
+final class ExtractionException extends NoSuchElementException {
+
+    // Source objects such as large JSON documents can have huge string forms,
+    // which we don't want to build unless someone actually reads the message.
+    static final int MAX_SOURCE_LENGTH = 256;
+
+    private final String template;
+    private final String propertyName;
+    private final transient Object source;
+    private @Nullable String message;
+
+    ExtractionException(String template, String propertyName, Object source) {
+        this.template = template;
+        this.propertyName = propertyName;
+        this.source = source;
+    }
+
+    @Override
+    public String getMessage() {
+        var result = message;
+        if (result == null) {
+            var description = String.valueOf(source);
+            if (description.length() > MAX_SOURCE_LENGTH) {
+                description = description.substring(0, MAX_SOURCE_LENGTH) + "...";
+            }
+            result = message = template.formatted(propertyName, description);
+        }
+        return result;
+    }
+
+}
@@ -68,7 +68,7 @@ class ExtractorFactoryImpl implements ExtractorFactory {
                 .stream(target.getMethods())
                 .sorted(Comparator.comparing(Method::getName))
                 .map(method -> switch (methodRoleHelper.getRole(method)) {
-                    case EQUALS, HASH_CODE, TO_STRING, AUTHENTICATION, DATA_MAP, NON_PROPERTY -> null;
+                    case EQUALS, HASH_CODE, TO_STRING, AUTHENTICATION, DATA_MAP, ATTACHMENTS, NON_PROPERTY -> null;
                     case REQUIRED_PROPERTY -> {
                         var key = method.getName();
                         var name = namingConvention.normalize(key);
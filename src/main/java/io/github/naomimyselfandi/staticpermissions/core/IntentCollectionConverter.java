@@ -0,0 +1,77 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+@EqualsAndHashCode
+@RequiredArgsConstructor
+class IntentCollectionConverter implements ConditionalGenericConverter {
+
+    private final StaticPermissionService staticPermissionService;
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(
+                new ConvertiblePair(Collection.class, Collection.class),
+                new ConvertiblePair(Collection.class, Object[].class),
+                new ConvertiblePair(Object[].class, Collection.class),
+                new ConvertiblePair(Object[].class, Object[].class)
+        );
+    }
+
+    @Override
+    public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        var targetElementType = targetType.getElementTypeDescriptor();
+        if (targetElementType == null || !Intent.class.isAssignableFrom(targetElementType.getObjectType())) {
+            return false;
+        }
+        var sourceElementType = sourceType.getElementTypeDescriptor();
+        return sourceElementType == null
+                || sourceElementType.getObjectType() == Object.class
+                || staticPermissionService.isSourceFor(sourceElementType.getObjectType(), targetElementType.getObjectType());
+    }
+
+    @Override
+    public @Nullable Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) {
+            return null;
+        }
+        var elements = source instanceof Collection<?> collection
+                ? new ArrayList<Object>(collection)
+                : Arrays.asList(ObjectUtils.toObjectArray(source));
+        var elementType = Objects.requireNonNull(targetType.getElementTypeDescriptor()).getObjectType();
+        var intents = staticPermissionService
+                .requireAll(elements.stream().filter(Objects::nonNull).toList(), elementType.asSubclass(Intent.class))
+                .iterator();
+        var results = new ArrayList<>(elements.size());
+        for (var element : elements) {
+            results.add(element == null ? null : intents.next());
+        }
+        if (targetType.isArray()) {
+            var array = Array.newInstance(elementType, results.size());
+            for (var i = 0; i < results.size(); i++) {
+                Array.set(array, i, results.get(i));
+            }
+            return array;
+        } else {
+            var collection = CollectionFactory.createCollection(targetType.getType(), elementType, results.size());
+            collection.addAll(results);
+            return collection;
+        }
+    }
+
+}
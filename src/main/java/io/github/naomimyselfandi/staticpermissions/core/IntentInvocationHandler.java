@@ -1,47 +1,140 @@
 package io.github.naomimyselfandi.staticpermissions.core;
 
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.ConcurrentLruCache;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-@EqualsAndHashCode
+@EqualsAndHashCode(doNotUseGetters = true)
 class IntentInvocationHandler<I> implements Supplier<I>, InvocationHandler {
 
     private static final ClassLoader CLASS_LOADER = IntentInvocationHandler.class.getClassLoader();
 
+    // Proxy.newProxyInstance looks the proxy class and its constructor up on
+    // every call, so the constructor is kept instead.
+    private static final ConcurrentLruCache<Class<?>, Constructor<?>> CONSTRUCTORS = new ConcurrentLruCache<>(256, type -> {
+        var proxyClass = Proxy.newProxyInstance(CLASS_LOADER, new Class[]{type}, (proxy, method, args) -> null).getClass();
+        try {
+            var constructor = proxyClass.getConstructor(InvocationHandler.class);
+            if (!Modifier.isPublic(proxyClass.getModifiers())) {
+                constructor.setAccessible(true); // As Proxy does for non-public interfaces.
+            }
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    @Getter(AccessLevel.PACKAGE)
     private final Class<I> type;
+
+    // Lazy values compare by source, so equality doesn't force extraction.
     private final Map<String, Object> values;
+
+    @EqualsAndHashCode.Exclude
+    private final boolean lazy;
+
+    @Getter(AccessLevel.PACKAGE)
     private final Authentication authentication;
+
     private final NamingConvention namingConvention;
     private final MethodRoleHelper methodRoleHelper;
 
+    // Most intent objects are checked and discarded without either of these
+    // being used, so they're only created when first needed.
+    @EqualsAndHashCode.Exclude
+    private volatile @Nullable Intent.Attachments attachments;
+
+    @EqualsAndHashCode.Exclude
+    private volatile @Nullable Map<Method, Memo> memos;
+
     IntentInvocationHandler(
             Class<I> type,
             Map<String, Object> values,
             Authentication authentication,
             NamingConvention namingConvention,
             MethodRoleHelper methodRoleHelper
+    ) {
+        this(type, values, authentication, namingConvention, methodRoleHelper, null);
+    }
+
+    IntentInvocationHandler(
+            Class<I> type,
+            Map<String, Object> values,
+            Authentication authentication,
+            NamingConvention namingConvention,
+            MethodRoleHelper methodRoleHelper,
+            @Nullable Intent.Attachments attachments
     ) {
         this.type = type;
         this.values = Map.copyOf(values);
+        this.lazy = values.values().stream().anyMatch(LazyValue.class::isInstance);
         this.authentication = authentication;
         this.namingConvention = namingConvention;
         this.methodRoleHelper = methodRoleHelper;
+        this.attachments = attachments;
+    }
+
+    static Optional<IntentInvocationHandler<?>> of(Object intent) {
+        if (Proxy.isProxyClass(intent.getClass())
+                && Proxy.getInvocationHandler(intent) instanceof IntentInvocationHandler<?> handler) {
+            return Optional.of(handler);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    Intent.Attachments getAttachments() {
+        var result = attachments;
+        if (result == null) {
+            synchronized (this) {
+                result = attachments;
+                if (result == null) {
+                    result = new AttachmentsImpl();
+                    attachments = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    Map<String, Object> getValues() {
+        if (!lazy) {
+            return values;
+        }
+        var resolved = new HashMap<String, Object>();
+        values.forEach((key, value) -> {
+            var resolvedValue = LazyValue.resolve(value);
+            if (resolvedValue != null) {
+                resolved.put(key, resolvedValue);
+            }
+        });
+        return Collections.unmodifiableMap(resolved);
     }
 
     @Override
     public I get() {
-        @SuppressWarnings("unchecked")
-        var proxy = (I) Proxy.newProxyInstance(CLASS_LOADER, new Class[]{type}, this);
-        return proxy;
+        try {
+            return type.cast(CONSTRUCTORS.get(type).newInstance(this));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @Override
@@ -51,7 +144,8 @@ class IntentInvocationHandler<I> implements Supplier<I>, InvocationHandler {
             case HASH_CODE -> hashCode();
             case TO_STRING -> toString();
             case AUTHENTICATION -> authentication;
-            case DATA_MAP -> values;
+            case DATA_MAP -> getValues();
+            case ATTACHMENTS -> getAttachments();
             case REQUIRED_PROPERTY, OPTIONAL_PROPERTY -> invokeGetter(proxy, method, args);
             case NON_PROPERTY -> invokeDefault(proxy, method, args);
         };
@@ -62,18 +156,35 @@ class IntentInvocationHandler<I> implements Supplier<I>, InvocationHandler {
     }
 
     private Object invokeGetter(Object proxy, Method method, Object[] args) throws Throwable {
-        var name = method.getName();
-        return values.containsKey(name) ? values.get(name) : invokeDefault(proxy, method, args);
+        var value = LazyValue.resolve(values.get(method.getName()));
+        return value != null ? value : invokeDefault(proxy, method, args);
     }
 
-    private static Object invokeDefault(Object proxy, Method method, Object[] args) throws Throwable {
-        if (method.isDefault()) {
+    private @Nullable Object invokeDefault(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.isDefault() && method.isAnnotationPresent(Intent.Memoized.class)) {
+            var memo = getMemos().computeIfAbsent(method, ignored -> new Memo());
+            return memo.get(() -> InvocationHandler.invokeDefault(proxy, method, args));
+        } else if (method.isDefault()) {
             return InvocationHandler.invokeDefault(proxy, method, args);
         } else {
             return Optional.empty();
         }
     }
 
+    private Map<Method, Memo> getMemos() {
+        var result = memos;
+        if (result == null) {
+            synchronized (this) {
+                result = memos;
+                if (result == null) {
+                    result = new ConcurrentHashMap<>();
+                    memos = result;
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return type.getSimpleName() + values
@@ -0,0 +1,77 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@EqualsAndHashCode
+@RequiredArgsConstructor
+class IntentMapConverter implements ConditionalGenericConverter {
+
+    private final StaticPermissionService staticPermissionService;
+    private final ConversionService conversionService;
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(new ConvertiblePair(Map.class, Map.class));
+    }
+
+    @Override
+    public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        var targetKeyType = targetType.getMapKeyTypeDescriptor();
+        if (targetKeyType == null || !Intent.class.isAssignableFrom(targetKeyType.getObjectType())) {
+            return false;
+        }
+        var sourceKeyType = sourceType.getMapKeyTypeDescriptor();
+        if (sourceKeyType != null
+                && sourceKeyType.getObjectType() != Object.class
+                && !staticPermissionService.isSourceFor(sourceKeyType.getObjectType(), targetKeyType.getObjectType())) {
+            return false;
+        }
+        var sourceValueType = sourceType.getMapValueTypeDescriptor();
+        var targetValueType = targetType.getMapValueTypeDescriptor();
+        return sourceValueType == null
+                || targetValueType == null
+                || conversionService.canConvert(sourceValueType, targetValueType);
+    }
+
+    @Override
+    public @Nullable Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) {
+            return null;
+        }
+        var entries = new ArrayList<>(((Map<?, ?>) source).entrySet());
+        var keyType = Objects.requireNonNull(targetType.getMapKeyTypeDescriptor()).getObjectType();
+        var keys = entries.stream().map(Map.Entry::getKey).filter(Objects::nonNull).toList();
+        var intents = staticPermissionService.requireAll(keys, keyType.asSubclass(Intent.class)).iterator();
+        var targetValueType = targetType.getMapValueTypeDescriptor();
+        var result = CollectionFactory.createMap(targetType.getType(), keyType, entries.size());
+        for (var entry : entries) {
+            var key = entry.getKey() == null ? null : intents.next();
+            var value = entry.getValue();
+            if (targetValueType != null) {
+                var sourceValueType = sourceType.getMapValueTypeDescriptor(value);
+                value = conversionService.convert(value, sourceValueType, targetValueType);
+            }
+            // The source keys are distinct, so an existing entry means two of
+            // them convert to equal intents; neither value may silently win.
+            if (result.containsKey(key)) {
+                throw new IllegalArgumentException("More than one key converts to %s.".formatted(key));
+            }
+            result.put(key, value);
+        }
+        return result;
+    }
+
+}
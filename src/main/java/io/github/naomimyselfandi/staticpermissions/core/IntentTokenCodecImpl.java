@@ -0,0 +1,296 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.IntentTokenCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ReflectionUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/*
+ * Token layout, big-endian:
+ *
+ *   u8      version
+ *   i64     expiry, in epoch seconds
+ *   u16     type name length, then that many bytes of UTF-8
+ *   u16     principal name length, then that many bytes of UTF-8
+ *   u16     property count, then for each property:
+ *     u16   property name length, then that many bytes of UTF-8
+ *     i32   value length, then that many bytes of UTF-8
+ *   u8[32]  HMAC-SHA256 of everything above
+ */
+@Component
+class IntentTokenCodecImpl implements IntentTokenCodec {
+
+    private static final byte VERSION = 1;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final int MIN_LENGTH = 1 + 8 + 2 + 2 + 2 + MAC_LENGTH;
+
+    private static final TypeDescriptor STRING = TypeDescriptor.valueOf(String.class);
+
+    private static final ThreadLocal<Signer> SIGNER = ThreadLocal.withInitial(Signer::new);
+
+    private final NamingConvention namingConvention;
+    private final MethodRoleHelper methodRoleHelper;
+    private final ConversionService conversionService;
+    private final ConcurrentLruCache<Class<?>, Optional<Extractor<?>>> extractors;
+    private final Clock clock;
+
+    @Autowired
+    IntentTokenCodecImpl(
+            NamingConvention namingConvention,
+            MethodRoleHelper methodRoleHelper,
+            ConversionService conversionService,
+            ExtractorFactory extractorFactory
+    ) {
+        this(namingConvention, methodRoleHelper, conversionService, extractorFactory, Clock.systemUTC());
+    }
+
+    IntentTokenCodecImpl(
+            NamingConvention namingConvention,
+            MethodRoleHelper methodRoleHelper,
+            ConversionService conversionService,
+            ExtractorFactory extractorFactory,
+            Clock clock
+    ) {
+        this.namingConvention = namingConvention;
+        this.methodRoleHelper = methodRoleHelper;
+        this.conversionService = conversionService;
+        this.extractors = new ConcurrentLruCache<>(256, type -> extractorFactory.apply(Map.class, type));
+        this.clock = clock;
+    }
+
+    @Override
+    public ByteBuffer encode(Intent intent, Duration timeToLive, SecretKey key) {
+        var handler = IntentInvocationHandler.of(intent).orElseThrow(() -> {
+            var message = "%s was not created by this library.".formatted(intent);
+            return new IllegalArgumentException(message);
+        });
+        var authentication = handler.getAuthentication();
+        if (authentication == null) {
+            var message = "%s was created without an authentication.".formatted(intent);
+            throw new IllegalArgumentException(message);
+        }
+        var type = utf8(handler.getType().getName());
+        var principal = utf8(authentication.getName());
+        var properties = new ArrayList<byte[]>();
+        var size = MIN_LENGTH + type.length + principal.length;
+        for (var entry : handler.getValues().entrySet()) {
+            var value = entry.getValue() instanceof Optional<?> optional ? optional.orElse(null) : entry.getValue();
+            if (value != null) {
+                var name = utf8(namingConvention.normalize(entry.getKey()));
+                var string = encodeValue(value, getPropertyType(handler.getType(), entry.getKey()));
+                if (string == null) {
+                    var message = "Value for '%s' in %s can't be encoded.".formatted(entry.getKey(), intent);
+                    throw new IllegalArgumentException(message);
+                }
+                var encoded = utf8(string);
+                properties.add(name);
+                properties.add(encoded);
+                size += 2 + name.length + 4 + encoded.length;
+            }
+        }
+        var expiry = clock.instant().plus(timeToLive).getEpochSecond();
+        var buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION).putLong(expiry);
+        putShortString(buffer, type);
+        putShortString(buffer, principal);
+        buffer.putShort(checkShort(properties.size() / 2));
+        for (var i = 0; i < properties.size(); i += 2) {
+            putShortString(buffer, properties.get(i));
+            buffer.putInt(properties.get(i + 1).length).put(properties.get(i + 1));
+        }
+        var mac = SIGNER.get().init(key);
+        mac.update(buffer.array(), 0, buffer.position());
+        try {
+            mac.doFinal(buffer.array(), buffer.position());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        return buffer.clear();
+    }
+
+    @Override
+    public <I extends Intent> I decode(ByteBuffer token, Class<I> type, SecretKey key) {
+        var buffer = token.duplicate();
+        verify(buffer, key);
+        buffer.limit(buffer.limit() - MAC_LENGTH);
+        try {
+            if (buffer.get() != VERSION) {
+                throw invalid();
+            }
+            if (buffer.getLong() <= clock.instant().getEpochSecond()) {
+                throw new IllegalArgumentException("The intent token has expired.");
+            }
+            var typeName = getShortString(buffer);
+            if (!typeName.equals(type.getName())) {
+                var message = "The intent token is for %s, not %s.".formatted(typeName, type.getName());
+                throw new IllegalArgumentException(message);
+            }
+            var principal = getShortString(buffer);
+            var user = SecurityContextHolder.getContext().getAuthentication();
+            if (user == null || !principal.equals(user.getName())) {
+                throw new IllegalArgumentException("The intent token was issued to a different user.");
+            }
+            var count = Short.toUnsignedInt(buffer.getShort());
+            var properties = new HashMap<String, String>(count * 2);
+            for (var i = 0; i < count; i++) {
+                var name = getShortString(buffer);
+                properties.put(name, getString(buffer, buffer.getInt()));
+            }
+            if (buffer.hasRemaining()) {
+                throw invalid();
+            }
+            @SuppressWarnings("unchecked")
+            var extractor = (Extractor<Map<String, String>>) extractors.get(type).orElseThrow(() -> {
+                var message = "%s can't be decoded from a token.".formatted(type);
+                return new IllegalArgumentException(message);
+            });
+            var values = extractor.extract(properties);
+            return new IntentInvocationHandler<>(type, values, user, namingConvention, methodRoleHelper).get();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw invalid();
+        }
+    }
+
+    // Only values that decode back to themselves are encoded; anything else,
+    // such as a list element containing a comma, would decode to a different
+    // value than the one that was checked.
+    private @Nullable String encodeValue(Object value, TypeDescriptor propertyType) {
+        var valueType = TypeDescriptor.forObject(value);
+        if (!conversionService.canConvert(valueType, STRING) || !conversionService.canConvert(STRING, propertyType)) {
+            return null;
+        }
+        var string = (String) conversionService.convert(value, valueType, STRING);
+        if (string == null) {
+            return null;
+        }
+        try {
+            var decoded = conversionService.convert(string, STRING, propertyType);
+            return Objects.deepEquals(decoded, value) ? string : null;
+        } catch (ConversionException e) {
+            return null;
+        }
+    }
+
+    private static TypeDescriptor getPropertyType(Class<?> type, String methodName) {
+        var method = ReflectionUtils.findMethod(type, methodName);
+        if (method == null) {
+            return TypeDescriptor.valueOf(Object.class);
+        }
+        var resolvableType = ResolvableType.forMethodReturnType(method, type);
+        if (resolvableType.toClass() == Optional.class) {
+            resolvableType = resolvableType.getGeneric(0);
+        }
+        return new TypeDescriptor(resolvableType, null, null);
+    }
+
+    private static void verify(ByteBuffer buffer, SecretKey key) {
+        var start = buffer.position();
+        var end = buffer.limit();
+        if (end - start < MIN_LENGTH) {
+            throw invalid();
+        }
+        var signer = SIGNER.get();
+        var mac = signer.init(key);
+        mac.update(buffer.duplicate().limit(end - MAC_LENGTH));
+        try {
+            mac.doFinal(signer.digest, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        var difference = 0;
+        for (var i = 0; i < MAC_LENGTH; i++) {
+            difference |= signer.digest[i] ^ buffer.get(end - MAC_LENGTH + i);
+        }
+        if (difference != 0) {
+            throw invalid();
+        }
+    }
+
+    private static byte[] utf8(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static short checkShort(int value) {
+        if (value > 0xFFFF) {
+            throw new IllegalArgumentException("%d is too large for an intent token.".formatted(value));
+        }
+        return (short) value;
+    }
+
+    private static void putShortString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort(checkShort(bytes.length)).put(bytes);
+    }
+
+    private static String getShortString(ByteBuffer buffer) {
+        return getString(buffer, Short.toUnsignedInt(buffer.getShort()));
+    }
+
+    private static String getString(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw invalid();
+        }
+        String result;
+        if (buffer.hasArray()) {
+            var offset = buffer.arrayOffset() + buffer.position();
+            result = new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+        } else {
+            var bytes = new byte[length];
+            buffer.get(buffer.position(), bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(buffer.position() + length);
+        return result;
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("The intent token is invalid.");
+    }
+
+    private static final class Signer {
+
+        final Mac mac;
+        final byte[] digest = new byte[MAC_LENGTH];
+
+        Signer() {
+            try {
+                mac = Mac.getInstance(ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Mac init(SecretKey key) {
+            try {
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalArgumentException("%s can't be used to sign intent tokens.".formatted(key), e);
+            }
+            return mac;
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.lang.Nullable;
+
+/**
+ * A property value which is extracted the first time it is needed. Intent
+ * invocation handlers resolve these transparently.
+ *
+ * <p>Lazy values are equal if they're for the same property of equal source
+ * objects, so comparing or hashing intents never forces an extraction.</p>
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+final class LazyValue {
+
+    @EqualsAndHashCode.Include
+    private final Object source;
+
+    @EqualsAndHashCode.Include
+    private final String name;
+
+    private final Memo memo = new Memo();
+    private final Memo.Computation computation;
+
+    LazyValue(Object source, String name, Memo.Computation computation) {
+        this.source = source;
+        this.name = name;
+        this.computation = computation;
+    }
+
+    @Nullable Object get() {
+        try {
+            return memo.get(computation);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static @Nullable Object resolve(@Nullable Object value) {
+        return value instanceof LazyValue lazyValue ? lazyValue.get() : value;
+    }
+
+    @Override
+    public String toString() {
+        return memo.isComputed() ? String.valueOf(get()) : "(not loaded)";
+    }
+
+}
@@ -32,6 +32,11 @@ final class MapPropertyExtractor implements PropertyExtractor<Map<?, ?>> {
         }
     }
 
+    @Override
+    public boolean isPresent(Map<?, ?> source, Method method, String propertyName) {
+        return source.get(propertyName) != null;
+    }
+
     private static TypeDescriptor returnType(Method method) {
         return new TypeDescriptor(ResolvableType.forMethodReturnType(method), null, null);
     }
@@ -0,0 +1,41 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A lazily computed value. The value is computed at most once, unless the
+ * computation fails, in which case it is attempted again on the next call.
+ * Once computed, the value is safely published to all threads.
+ */
+final class Memo {
+
+    @FunctionalInterface
+    interface Computation {
+
+        @Nullable Object compute() throws Throwable;
+
+    }
+
+    private static final Object UNSET = new Object();
+
+    private volatile @Nullable Object value = UNSET;
+
+    boolean isComputed() {
+        return value != UNSET;
+    }
+
+    @Nullable Object get(Computation computation) throws Throwable {
+        var result = value;
+        if (result == UNSET) {
+            synchronized (this) {
+                result = value;
+                if (result == UNSET) {
+                    result = computation.compute();
+                    value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+}
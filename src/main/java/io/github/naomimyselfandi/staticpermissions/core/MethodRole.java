@@ -12,6 +12,8 @@ enum MethodRole {
 
     DATA_MAP,
 
+    ATTACHMENTS,
+
     REQUIRED_PROPERTY,
 
     OPTIONAL_PROPERTY,
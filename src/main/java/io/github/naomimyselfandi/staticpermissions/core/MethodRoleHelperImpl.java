@@ -16,7 +16,10 @@ class MethodRoleHelperImpl implements MethodRoleHelper {
 
     @Override
     public MethodRole getRole(Method method) {
-        if (ReflectionUtils.isEqualsMethod(method)) {
+        if (method.isAnnotationPresent(Intent.Memoized.class)
+                && (!method.isDefault() || method.getParameterCount() != 0)) {
+            throw invalid(method);
+        } else if (ReflectionUtils.isEqualsMethod(method)) {
             return MethodRole.EQUALS;
         } else if (ReflectionUtils.isHashCodeMethod(method)) {
             return MethodRole.HASH_CODE;
@@ -38,6 +41,7 @@ class MethodRoleHelperImpl implements MethodRoleHelper {
             switch (method.getName()) {
                 case "__auth__": return MethodRole.AUTHENTICATION;
                 case "__data__": return MethodRole.DATA_MAP;
+                case "__attachments__": return MethodRole.ATTACHMENTS;
             }
         }
         throw invalid(method);
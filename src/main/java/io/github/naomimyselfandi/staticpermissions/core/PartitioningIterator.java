@@ -0,0 +1,103 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Makes decisions on a fork/join pool while keeping a bounded number of them
+ * in flight. Sources are only pulled as earlier decisions are consumed, so the
+ * source stream is never materialized.
+ */
+final class PartitioningIterator<I extends Intent> implements Iterator<Decision<I>> {
+
+    private final Iterator<?> sources;
+    private final Function<Object, Decision<I>> decider;
+    private final ForkJoinPool pool;
+    private final int window;
+    private final boolean ordered;
+    private final ArrayDeque<CompletableFuture<Decision<I>>> inFlight;
+    private final BlockingQueue<CompletableFuture<Decision<I>>> completed = new LinkedBlockingQueue<>();
+
+    PartitioningIterator(
+            Iterator<?> sources,
+            Function<Object, Decision<I>> decider,
+            ForkJoinPool pool,
+            int window,
+            boolean ordered
+    ) {
+        this.sources = sources;
+        this.decider = decider;
+        this.pool = pool;
+        this.window = window;
+        this.ordered = ordered;
+        this.inFlight = new ArrayDeque<>(window);
+    }
+
+    @Override
+    public boolean hasNext() {
+        fill();
+        return !inFlight.isEmpty();
+    }
+
+    @Override
+    public Decision<I> next() {
+        fill();
+        if (inFlight.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        CompletableFuture<Decision<I>> future;
+        if (ordered) {
+            future = inFlight.removeFirst();
+        } else {
+            future = takeCompleted();
+            inFlight.remove(future);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    void cancel() {
+        inFlight.forEach(future -> future.cancel(false));
+        inFlight.clear();
+        completed.clear();
+    }
+
+    private void fill() {
+        while (inFlight.size() < window && sources.hasNext()) {
+            var source = sources.next();
+            var future = CompletableFuture.supplyAsync(() -> decider.apply(source), pool);
+            if (!ordered) {
+                future.whenComplete((result, exception) -> completed.add(future));
+            }
+            inFlight.addLast(future);
+        }
+    }
+
+    private CompletableFuture<Decision<I>> takeCompleted() {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a decision.", e);
+        }
+    }
+
+}
@@ -1,9 +1,11 @@
 package io.github.naomimyselfandi.staticpermissions.core;
 
+import io.github.naomimyselfandi.staticpermissions.Intent;
 import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
+import org.springframework.lang.Nullable;
 
 import java.lang.reflect.Method;
 import java.util.*;
@@ -13,27 +15,52 @@ import java.util.*;
 @RequiredArgsConstructor
 class PolyExtractor<S> implements Extractor<S> {
 
-    record Property(String name, Method method, boolean optional) {}
+    record Property(String name, Method method, boolean optional, boolean lazy) {
+
+        Property(String name, Method method, boolean optional) {
+            this(name, method, optional, method.isAnnotationPresent(Intent.Lazy.class));
+        }
+
+    }
 
     private final List<Property> properties;
     private final PropertyExtractor<? super S> extractor;
 
     @Override
     public Map<String, Object> extract(S source) {
+        if (properties.isEmpty()) {
+            return Map.of();
+        }
         var result = new HashMap<String, Object>();
         for (var property : properties) {
-            var extracted = extractor.extract(source, property.method, property.name);
-            if (extracted == PropertyExtractor.TYPE_MISMATCH) {
-                var message = "Value for '%s' in %s is not the correct type.".formatted(property.name, source);
-                throw new NoSuchElementException(message);
-            } else if (extracted != null) {
-                result.put(property.method.getName(), extracted);
-            } else if (!property.optional()) {
-                var message = "Couldn't find a value for '%s' in %s.".formatted(property.name, source);
-                throw new NoSuchElementException(message);
+            if (property.lazy) {
+                if (extractor.isPresent(source, property.method, property.name)) {
+                    result.put(property.method.getName(), new LazyValue(source, property.name, () -> extract(source, property)));
+                } else if (!property.optional) {
+                    throw unavailable(source, property);
+                }
+            } else {
+                var extracted = extract(source, property);
+                if (extracted != null) {
+                    result.put(property.method.getName(), extracted);
+                }
             }
         }
         return Collections.unmodifiableMap(result);
     }
 
+    private @Nullable Object extract(S source, Property property) {
+        var extracted = extractor.extract(source, property.method, property.name);
+        if (extracted == PropertyExtractor.TYPE_MISMATCH) {
+            throw new ExtractionException("Value for '%s' in %s is not the correct type.", property.name, source);
+        } else if (extracted == null && !property.optional) {
+            throw unavailable(source, property);
+        }
+        return extracted;
+    }
+
+    private static NoSuchElementException unavailable(Object source, Property property) {
+        return new ExtractionException("Couldn't find a value for '%s' in %s.", property.name, source);
+    }
+
 }
@@ -67,6 +67,17 @@ class ReflectivePropertyExtractor<T> implements PropertyExtractor<T> {
         }
     }
 
+    @Override
+    public boolean isPresent(Object source, Method propertyMethod, String propertyName) {
+        // Calling the getter is unavoidable, but the conversion can be skipped.
+        var sourceMethod = cache.get(propertyName).orElse(null);
+        if (sourceMethod == null) {
+            return false;
+        }
+        ReflectionUtils.makeAccessible(sourceMethod);
+        return ReflectionUtils.invokeMethod(sourceMethod, source) != null;
+    }
+
     private static TypeDescriptor getReturnType(Method method) {
         return new TypeDescriptor(ResolvableType.forMethodReturnType(method), null, null);
     }
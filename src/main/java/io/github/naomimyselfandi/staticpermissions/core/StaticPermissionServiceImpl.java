@@ -1,19 +1,30 @@
 package io.github.naomimyselfandi.staticpermissions.core;
 
 import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.BatchAccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.FilteringAccessPolicy;
 import io.github.naomimyselfandi.staticpermissions.Intent;
 import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ConcurrentLruCache;
 
 import java.lang.reflect.Method;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
 class StaticPermissionServiceImpl implements StaticPermissionService {
@@ -24,6 +35,11 @@ class StaticPermissionServiceImpl implements StaticPermissionService {
     private final MethodRoleHelper methodRoleHelper;
     private final ConcurrentLruCache<Pair, Optional<Extractor<?>>> extractorFactory;
     private final ConcurrentLruCache<Class<?>, List<? extends AccessPolicy<?>>> accessPolicyRegistry;
+    private final ConcurrentLruCache<Class<?>, Map<String, Method>> properties =
+            new ConcurrentLruCache<>(256, this::findProperties);
+    private final DecisionIndex decisionIndex;
+    private final BatchDispatcher batchDispatcher;
+    private final ConversionService conversionService;
     private final ObjectProvider<ConfigurableConversionService> conversionServices;
 
     StaticPermissionServiceImpl(
@@ -31,12 +47,18 @@ class StaticPermissionServiceImpl implements StaticPermissionService {
             MethodRoleHelper methodRoleHelper,
             ExtractorFactory extractorFactory,
             AccessPolicyRegistry accessPolicyRegistry,
+            DecisionIndex decisionIndex,
+            BatchDispatcher batchDispatcher,
+            ConversionService conversionService,
             ObjectProvider<ConfigurableConversionService> conversionServices
     ) {
         this.namingConvention = namingConvention;
         this.methodRoleHelper = methodRoleHelper;
         this.extractorFactory = new ConcurrentLruCache<>(256, it -> extractorFactory.apply(it.s, it.t));
         this.accessPolicyRegistry = new ConcurrentLruCache<>(256, accessPolicyRegistry::get);
+        this.decisionIndex = decisionIndex;
+        this.batchDispatcher = batchDispatcher;
+        this.conversionService = conversionService;
         this.conversionServices = conversionServices;
     }
 
@@ -44,6 +66,8 @@ class StaticPermissionServiceImpl implements StaticPermissionService {
     void initialize() {
         for (var conversionService : conversionServices) {
             conversionService.addConverter(new IntentConverter(this));
+            conversionService.addConverter(new IntentCollectionConverter(this));
+            conversionService.addConverter(new IntentMapConverter(this, conversionService));
         }
     }
 
@@ -59,6 +83,11 @@ class StaticPermissionServiceImpl implements StaticPermissionService {
         return namingConvention.normalize(method.getName());
     }
 
+    @Override
+    public Map<String, Method> getProperties(Class<? extends Intent> type) {
+        return properties.get(type);
+    }
+
     @Override
     public <I extends Intent> I require(Object source, Class<I> type) {
         var intent = createIntent(source, type);
@@ -73,30 +102,328 @@ class StaticPermissionServiceImpl implements StaticPermissionService {
         return Optional.ofNullable(permitted ? intent : null);
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public <I extends Intent> List<I> requireAll(Collection<?> sources, Class<I> type) {
+        var decisions = decideAll(sources, type);
+        for (var decision : decisions) {
+            if (decision.denial() != null) {
+                throw decision.denial().get();
+            }
+        }
+        return decisions.stream().map(Decision::intent).toList();
+    }
+
+    @Override
+    public <I extends Intent> List<Decision<I>> decideAll(Collection<?> sources, Class<I> type) {
+        var user = SecurityContextHolder.getContext().getAuthentication();
+        var distinct = new LinkedHashMap<I, I>();
+        var bySource = new HashMap<Object, I>();
+        var intents = sources
+                .stream()
+                .map(source -> bySource.computeIfAbsent(source, it -> {
+                    var intent = createIntent(it, type, user);
+                    return distinct.computeIfAbsent(intent, ignored -> intent);
+                }))
+                .toList();
+        var checked = List.copyOf(distinct.keySet());
+        var denials = getDenials(checked, type, false);
+        var denialsByIntent = new HashMap<I, AccessPolicy.Denial>();
+        for (var i = 0; i < denials.length; i++) {
+            if (denials[i] != null) {
+                denialsByIntent.put(checked.get(i), denials[i]);
+            }
+        }
+        var decisions = new ArrayList<Decision<I>>(intents.size());
+        var iterator = sources.iterator();
+        for (var intent : intents) {
+            var source = iterator.next();
+            var denial = denialsByIntent.get(intent);
+            decisions.add(denial == null ? Decision.permitted(source, intent) : Decision.denied(source, denial));
+        }
+        return decisions;
+    }
+
+    @Override
+    public <I extends Intent> I refine(Intent original, Class<I> type, Map<String, ?> additional) {
+        var handler = IntentInvocationHandler.of(original).orElseThrow(() -> {
+            var message = "%s was not created by this library.".formatted(original);
+            return new IllegalArgumentException(message);
+        });
+        var user = SecurityContextHolder.getContext().getAuthentication();
+        if (!Objects.equals(user, handler.getAuthentication())) {
+            var message = "%s was created for a different user.".formatted(original);
+            throw new IllegalArgumentException(message);
+        }
+        // The original type's policies are skipped below, so its properties
+        // must keep the values those policies saw, even if they were empty.
+        var declared = properties.get(handler.getType());
+        for (var name : additional.keySet()) {
+            if (declared.containsKey(name)) {
+                var message = "'%s' is a property of %s.".formatted(name, handler.getType().getName());
+                throw new IllegalArgumentException(message);
+            }
+        }
+        // Existing values were extracted and checked already, so they're copied
+        // as they are; converting them again could re-run nested checks.
+        var values = new HashMap<>(handler.getValues());
+        for (var key : values.keySet()) {
+            var name = namingConvention.normalize(key);
+            if (additional.containsKey(name)) {
+                var message = "'%s' is already set by %s.".formatted(name, original);
+                throw new IllegalArgumentException(message);
+            }
+        }
+        var typeProperties = properties.get(type);
+        additional.forEach((name, value) -> {
+            var method = typeProperties.get(name);
+            if (method == null) {
+                var message = "'%s' is not a property of %s.".formatted(name, type.getName());
+                throw new IllegalArgumentException(message);
+            }
+            if (value != null) {
+                values.put(method.getName(), convert(value, method, type));
+            }
+        });
+        typeProperties.forEach((name, method) -> {
+            if (methodRoleHelper.getRole(method) == MethodRole.REQUIRED_PROPERTY && !values.containsKey(method.getName())) {
+                throw new ExtractionException("Couldn't find a value for '%s' in %s.", name, additional);
+            }
+        });
+        var intent = new IntentInvocationHandler<>(
+                type,
+                values,
+                user,
+                namingConvention,
+                methodRoleHelper,
+                handler.getAttachments()
+        ).get();
+        getDenial(intent, type, handler.getType()).ifPresent(denial -> {throw denial.get();});
+        return intent;
+    }
+
+    private Object convert(Object value, Method method, Class<?> type) {
+        var sourceType = TypeDescriptor.forObject(value);
+        var targetType = new TypeDescriptor(ResolvableType.forMethodReturnType(method, type), null, null);
+        if (!conversionService.canConvert(sourceType, targetType)) {
+            var name = namingConvention.normalize(method.getName());
+            throw new ExtractionException("Value for '%s' in %s is not the correct type.", name, value);
+        }
+        return Objects.requireNonNull(conversionService.convert(value, sourceType, targetType));
+    }
+
+    @Override
+    public Map<Class<? extends Intent>, Boolean> capabilities(Object source, Set<Class<? extends Intent>> types) {
+        var decisions = new IdentityHashMap<AccessPolicy<?>, Optional<AccessPolicy.Denial>>();
+        var result = new LinkedHashMap<Class<? extends Intent>, Boolean>();
+        for (var type : types) {
+            result.put(type, getDenial(source, type, decisions).isEmpty());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public <I extends Intent> List<Authentication> audience(
+            Object source,
+            Class<I> type,
+            Collection<? extends Authentication> authentications
+    ) {
+        var values = Map.copyOf(extract(source, type));
+        var users = List.<Authentication>copyOf(authentications);
+        var intents = users
+                .stream()
+                .map(user -> new IntentInvocationHandler<>(type, values, user, namingConvention, methodRoleHelper).get())
+                .toList();
+        // Each intent is for a different user, so policies can't depend on
+        // the calling thread's security context anyway.
+        var denials = getDenials(intents, type, true);
+        return IntStream
+                .range(0, users.size())
+                .filter(i -> denials[i] == null)
+                .mapToObj(users::get)
+                .toList();
+    }
+
+    @Override
+    public <I extends Intent> Stream<Decision<I>> partition(Stream<?> sources, Class<I> type) {
+        var user = SecurityContextHolder.getContext().getAuthentication();
+        Function<Object, Decision<I>> decider = source -> decide(source, type, user);
+        if (!sources.isParallel()) {
+            return sources.map(decider);
+        }
+        var spliterator = sources.spliterator();
+        var ordered = spliterator.hasCharacteristics(Spliterator.ORDERED);
+        var pool = ForkJoinPool.commonPool();
+        var window = 4 * Math.max(pool.getParallelism(), 1);
+        var iterator = new PartitioningIterator<>(Spliterators.iterator(spliterator), decider, pool, window, ordered);
+        var characteristics = Spliterator.NONNULL | (ordered ? Spliterator.ORDERED : 0);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false)
+                .onClose(iterator::cancel)
+                .onClose(sources::close);
+    }
+
+    @Override
+    public <F> Optional<List<F>> getFilters(Class<? extends Intent> type, Class<F> filterType) {
+        var user = SecurityContextHolder.getContext().getAuthentication();
+        var filters = new ArrayList<F>();
+        for (var policy : accessPolicyRegistry.get(type)) {
+            if (!(policy instanceof FilteringAccessPolicy<?, ?> filteringPolicy)
+                    || !filterType.isAssignableFrom(filteringPolicy.getFilterType())) {
+                return Optional.empty();
+            }
+            var filter = filteringPolicy.getFilter(user);
+            if (filter != null) {
+                filters.add(filterType.cast(filter));
+            }
+        }
+        return Optional.of(Collections.unmodifiableList(filters));
+    }
+
+    private Map<String, Method> findProperties(Class<?> type) {
+        var result = new LinkedHashMap<String, Method>();
+        Arrays
+                .stream(type.getMethods())
+                .sorted(Comparator.comparing(Method::getName))
+                .forEach(method -> {
+                    switch (methodRoleHelper.getRole(method)) {
+                        case REQUIRED_PROPERTY, OPTIONAL_PROPERTY ->
+                                result.put(namingConvention.normalize(method.getName()), method);
+                        default -> {}
+                    }
+                });
+        return Collections.unmodifiableMap(result);
+    }
+
+    private <I extends Intent> Decision<I> decide(Object source, Class<I> type, Authentication user) {
+        var intent = createIntent(source, type, user);
+        return getDenial(intent, type)
+                .map(denial -> Decision.<I>denied(source, denial))
+                .orElseGet(() -> Decision.permitted(source, intent));
+    }
+
     private <I> I createIntent(Object source, Class<I> type) {
-        return createIntent(source, (Class<Object>) source.getClass(), type);
+        return createIntent(source, type, SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private <I> I createIntent(Object source, Class<I> type, Authentication user) {
+        var values = extract(source, type);
+        return new IntentInvocationHandler<>(type, values, user, namingConvention, methodRoleHelper).get();
     }
 
-    private <S, I> I createIntent(S source, Class<S> sourceType, Class<I> type) {
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> extract(Object source, Class<?> type) {
+        return extract(source, (Class<Object>) source.getClass(), type);
+    }
+
+    private <S> Map<String, Object> extract(S source, Class<? super S> sourceType, Class<?> type) {
         @SuppressWarnings("unchecked")
         var extractor = (Extractor<S>) extractorFactory.get(new Pair(sourceType, type)).orElseThrow(() -> {
             var message = "%s is not a valid source for %s.".formatted(sourceType, type);
             return new IllegalArgumentException(message);
         });
-        var values = extractor.extract(source);
-        var user = SecurityContextHolder.getContext().getAuthentication();
-        return new IntentInvocationHandler<>(type, values, user, namingConvention, methodRoleHelper).get();
+        return extractor.extract(source);
     }
 
-    @SuppressWarnings("unchecked")
     private <I> Optional<AccessPolicy.Denial> getDenial(I intent, Class<I> type) {
-        return accessPolicyRegistry
+        return getDenial(intent, type, (Class<?>) null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I> Optional<AccessPolicy.Denial> getDenial(I intent, Class<I> type, @Nullable Class<?> satisfied) {
+        var lookup = decisionIndex.lookup(intent, type);
+        if (lookup != null && lookup.isPermitted()) {
+            return Optional.empty();
+        }
+        var denial = accessPolicyRegistry
                 .get(type)
                 .stream()
-                .map(it -> ((AccessPolicy<? super I>) it).apply(intent))
+                .filter(it -> satisfied == null || !it.getIntentType().isAssignableFrom(satisfied))
+                .map(it -> apply((AccessPolicy<? super I>) it, intent))
                 .filter(Objects::nonNull)
                 .findFirst();
+        if (lookup != null) {
+            lookup.record(denial.isEmpty());
+        }
+        return denial;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I> AccessPolicy.Denial[] getDenials(List<I> intents, Class<I> type, boolean parallel) {
+        var denials = new AccessPolicy.Denial[intents.size()];
+        var lookups = intents.stream().map(intent -> decisionIndex.lookup(intent, type)).toList();
+        var pending = IntStream
+                .range(0, intents.size())
+                .filter(i -> lookups.get(i) == null || !lookups.get(i).isPermitted())
+                .toArray();
+        for (var policy : accessPolicyRegistry.get(type)) {
+            if (pending.length == 0) {
+                break;
+            }
+            var remaining = Arrays.stream(pending).mapToObj(intents::get).toList();
+            var results = policy instanceof BatchAccessPolicy<?> batchPolicy
+                    ? ((BatchAccessPolicy<? super I>) batchPolicy).applyAll(remaining)
+                    : (parallel ? remaining.parallelStream() : remaining.stream())
+                            .map(((AccessPolicy<? super I>) policy)::apply)
+                            .toList();
+            if (results.size() != remaining.size()) {
+                var message = "%s returned %d results for %d intents.".formatted(policy, results.size(), remaining.size());
+                throw new IllegalStateException(message);
+            }
+            var stillPending = IntStream.builder();
+            for (var i = 0; i < pending.length; i++) {
+                var denial = results.get(i);
+                if (denial == null) {
+                    stillPending.add(pending[i]);
+                } else {
+                    denials[pending[i]] = denial;
+                }
+            }
+            pending = stillPending.build().toArray();
+        }
+        for (var i = 0; i < intents.size(); i++) {
+            var lookup = lookups.get(i);
+            if (lookup != null) {
+                lookup.record(denials[i] == null);
+            }
+        }
+        return denials;
+    }
+
+    private <I> Optional<AccessPolicy.Denial> getDenial(
+            Object source,
+            Class<I> type,
+            Map<AccessPolicy<?>, Optional<AccessPolicy.Denial>> decisions
+    ) {
+        var intent = createIntent(source, type);
+        var lookup = decisionIndex.lookup(intent, type);
+        if (lookup != null && lookup.isPermitted()) {
+            return Optional.empty();
+        }
+        for (var policy : accessPolicyRegistry.get(type)) {
+            var decision = decisions.get(policy);
+            if (decision == null) {
+                @SuppressWarnings("unchecked")
+                var denial = apply((AccessPolicy<? super I>) policy, intent);
+                decision = Optional.ofNullable(denial);
+                decisions.put(policy, decision);
+            }
+            if (decision.isPresent()) {
+                if (lookup != null) {
+                    lookup.record(false);
+                }
+                return decision;
+            }
+        }
+        if (lookup != null) {
+            lookup.record(true);
+        }
+        return Optional.empty();
+    }
+
+    private @Nullable <I> AccessPolicy.Denial apply(AccessPolicy<I> policy, I intent) {
+        return policy instanceof BatchAccessPolicy<I> batchPolicy
+                ? batchDispatcher.apply(batchPolicy, intent)
+                : policy.apply(intent);
     }
 
 }
@@ -0,0 +1,28 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+/**
+ * Controls whether serialized intent objects describe their authentication.
+ * Intent objects are serialized as their properties only by default. To
+ * change this, set this enum as an attribute of an {@code ObjectWriter}:
+ *
+ * <pre>{@code
+ * var json = objectMapper
+ *         .writer()
+ *         .withAttribute(AuthenticationInclusion.class, AuthenticationInclusion.NAME)
+ *         .writeValueAsString(intent);
+ * }</pre>
+ */
+public enum AuthenticationInclusion {
+
+    /**
+     * Omit the authentication.
+     */
+    OMIT,
+
+    /**
+     * Include the authentication's name as {@code __auth__}. This is ignored
+     * when the intent object is deserialized.
+     */
+    NAME,
+
+}
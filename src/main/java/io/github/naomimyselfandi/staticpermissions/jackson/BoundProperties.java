@@ -0,0 +1,5 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import java.util.Map;
+
+record BoundProperties(Map<String, Object> values) {}
@@ -0,0 +1,22 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+@Component
+final class BoundPropertiesExtractor implements PropertyExtractor<BoundProperties> {
+
+    @Override
+    public @Nullable Object extract(BoundProperties source, Method method, String propertyName) {
+        return source.values().get(propertyName);
+    }
+
+    @Override
+    public boolean isPresent(BoundProperties source, Method method, String propertyName) {
+        return source.values().get(propertyName) != null;
+    }
+
+}
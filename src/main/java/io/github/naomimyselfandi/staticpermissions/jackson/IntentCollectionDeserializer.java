@@ -0,0 +1,76 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import lombok.EqualsAndHashCode;
+import org.springframework.core.CollectionFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Objects;
+
+@EqualsAndHashCode(callSuper = false)
+final class IntentCollectionDeserializer<I extends Intent> extends StdDeserializer<Object>
+        implements ResolvableDeserializer {
+
+    private final JavaType type;
+    private final Class<I> intentType;
+    private final IntentDeserializer<I> elementDeserializer;
+    private final StaticPermissionService staticPermissionService;
+
+    IntentCollectionDeserializer(JavaType type, Class<I> intentType, StaticPermissionService staticPermissionService) {
+        super(type);
+        this.type = type;
+        this.intentType = intentType;
+        this.elementDeserializer = new IntentDeserializer<>(intentType, staticPermissionService);
+        this.staticPermissionService = staticPermissionService;
+    }
+
+    @Override
+    public void resolve(DeserializationContext context) throws JsonMappingException {
+        elementDeserializer.resolve(context);
+    }
+
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        var sources = new ArrayList<>();
+        if (parser.isExpectedStartArrayToken()) {
+            for (var token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                sources.add(readSource(parser, context));
+            }
+        } else if (context.isEnabled(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)) {
+            sources.add(readSource(parser, context));
+        } else {
+            return context.handleUnexpectedToken(type, parser);
+        }
+        // Every element is checked at once, so duplicates are only checked once.
+        var intents = staticPermissionService
+                .requireAll(sources.stream().filter(Objects::nonNull).toList(), intentType)
+                .iterator();
+        if (type.isArrayType()) {
+            var array = Array.newInstance(intentType, sources.size());
+            for (var i = 0; i < sources.size(); i++) {
+                Array.set(array, i, sources.get(i) == null ? null : intents.next());
+            }
+            return array;
+        } else {
+            var collection = CollectionFactory.createCollection(type.getRawClass(), intentType, sources.size());
+            for (var source : sources) {
+                collection.add(source == null ? null : intents.next());
+            }
+            return collection;
+        }
+    }
+
+    private @Nullable Object readSource(JsonParser parser, DeserializationContext context) throws IOException {
+        return parser.hasToken(JsonToken.VALUE_NULL) ? null : elementDeserializer.readSource(parser, context);
+    }
+
+}
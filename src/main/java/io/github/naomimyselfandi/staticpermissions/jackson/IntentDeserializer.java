@@ -1,7 +1,9 @@
 package io.github.naomimyselfandi.staticpermissions.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import io.github.naomimyselfandi.staticpermissions.Intent;
 import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
@@ -9,22 +11,63 @@ import lombok.EqualsAndHashCode;
 import org.springframework.lang.Nullable;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 @EqualsAndHashCode(callSuper = false)
-final class IntentDeserializer<I extends Intent> extends StdDeserializer<I> {
+final class IntentDeserializer<I extends Intent> extends StdDeserializer<I> implements ResolvableDeserializer {
 
     private final Class<I> intentType;
     private final StaticPermissionService staticPermissionService;
 
+    @EqualsAndHashCode.Exclude
+    private @Nullable Map<String, JsonDeserializer<Object>> properties;
+
     IntentDeserializer(Class<I> intentType, StaticPermissionService staticPermissionService) {
         super(intentType);
         this.intentType = intentType;
         this.staticPermissionService = staticPermissionService;
     }
 
+    @Override
+    public void resolve(DeserializationContext context) throws JsonMappingException {
+        var typeFactory = context.getTypeFactory();
+        var properties = new HashMap<String, JsonDeserializer<Object>>();
+        for (var entry : staticPermissionService.getProperties(intentType).entrySet()) {
+            var type = JsonNodePropertyExtractor.resolveJavaType(entry.getValue(), typeFactory);
+            properties.put(entry.getKey(), context.findRootValueDeserializer(type));
+        }
+        this.properties = Map.copyOf(properties);
+    }
+
     @Override
     public I deserialize(JsonParser parser, @Nullable DeserializationContext context) throws IOException {
-        return staticPermissionService.require(parser.readValueAsTree(), intentType);
+        return staticPermissionService.require(readSource(parser, context), intentType);
+    }
+
+    Object readSource(JsonParser parser, @Nullable DeserializationContext context) throws IOException {
+        var properties = this.properties;
+        if (properties == null || context == null || !isObject(parser)) {
+            // Intent types with a single required property can be created from
+            // scalars, and we may not have been resolved; use the slow path.
+            return parser.readValueAsTree();
+        }
+        var values = new HashMap<String, Object>();
+        var name = parser.isExpectedStartObjectToken() ? parser.nextFieldName() : parser.currentName();
+        for (; name != null; name = parser.nextFieldName()) {
+            var token = parser.nextToken();
+            var deserializer = properties.get(name);
+            if (deserializer == null) {
+                parser.skipChildren();
+            } else if (token != JsonToken.VALUE_NULL) {
+                values.put(name, deserializer.deserialize(parser, context));
+            }
+        }
+        return new BoundProperties(values);
+    }
+
+    private static boolean isObject(JsonParser parser) {
+        return parser.isExpectedStartObjectToken() || parser.hasToken(JsonToken.FIELD_NAME);
     }
 
 }
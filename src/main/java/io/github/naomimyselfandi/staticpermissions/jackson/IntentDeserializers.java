@@ -2,6 +2,10 @@ package io.github.naomimyselfandi.staticpermissions.jackson;
 
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.ArrayType;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
 import io.github.naomimyselfandi.staticpermissions.Intent;
 import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
 import lombok.EqualsAndHashCode;
@@ -28,4 +32,68 @@ final class IntentDeserializers extends Deserializers.Base {
         }
     }
 
+    @Override
+    public @Nullable JsonDeserializer<?> findCollectionDeserializer(
+            CollectionType type,
+            @Nullable DeserializationConfig config,
+            @Nullable BeanDescription beanDesc,
+            @Nullable TypeDeserializer elementTypeDeserializer,
+            @Nullable JsonDeserializer<?> elementDeserializer
+    ) {
+        return findContainerDeserializer(type, elementTypeDeserializer, elementDeserializer);
+    }
+
+    @Override
+    public @Nullable JsonDeserializer<?> findArrayDeserializer(
+            ArrayType type,
+            @Nullable DeserializationConfig config,
+            @Nullable BeanDescription beanDesc,
+            @Nullable TypeDeserializer elementTypeDeserializer,
+            @Nullable JsonDeserializer<?> elementDeserializer
+    ) {
+        return findContainerDeserializer(type, elementTypeDeserializer, elementDeserializer);
+    }
+
+    @Override
+    public @Nullable JsonDeserializer<?> findMapDeserializer(
+            MapType type,
+            @Nullable DeserializationConfig config,
+            @Nullable BeanDescription beanDesc,
+            @Nullable KeyDeserializer keyDeserializer,
+            @Nullable TypeDeserializer elementTypeDeserializer,
+            @Nullable JsonDeserializer<?> elementDeserializer
+    ) {
+        var keyType = type.getKeyType().getRawClass();
+        if (keyDeserializer == null && staticPermissionService.isSourceFor(String.class, keyType)) {
+            @SuppressWarnings("unchecked")
+            var valueDeserializer = (JsonDeserializer<Object>) elementDeserializer;
+            return new IntentMapDeserializer<>(
+                    type,
+                    keyType.asSubclass(Intent.class),
+                    elementTypeDeserializer,
+                    valueDeserializer,
+                    staticPermissionService
+            );
+        } else {
+            return null;
+        }
+    }
+
+    // Custom element handling, such as from @JsonDeserialize(contentUsing=...),
+    // takes precedence over checking the elements together.
+    private @Nullable JsonDeserializer<?> findContainerDeserializer(
+            JavaType type,
+            @Nullable TypeDeserializer elementTypeDeserializer,
+            @Nullable JsonDeserializer<?> elementDeserializer
+    ) {
+        var elementType = type.getContentType().getRawClass();
+        if (elementTypeDeserializer == null
+                && elementDeserializer == null
+                && staticPermissionService.isSourceFor(JsonNode.class, elementType)) {
+            return new IntentCollectionDeserializer<>(type, elementType.asSubclass(Intent.class), staticPermissionService);
+        } else {
+            return null;
+        }
+    }
+
 }
@@ -0,0 +1,95 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import lombok.EqualsAndHashCode;
+import org.springframework.core.CollectionFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Objects;
+
+@EqualsAndHashCode(callSuper = false)
+final class IntentMapDeserializer<I extends Intent> extends StdDeserializer<Object> implements ResolvableDeserializer {
+
+    private final JavaType type;
+    private final Class<I> keyType;
+    private final @Nullable TypeDeserializer valueTypeDeserializer;
+    private final StaticPermissionService staticPermissionService;
+
+    @EqualsAndHashCode.Exclude
+    private @Nullable JsonDeserializer<Object> valueDeserializer;
+
+    IntentMapDeserializer(
+            JavaType type,
+            Class<I> keyType,
+            @Nullable TypeDeserializer valueTypeDeserializer,
+            @Nullable JsonDeserializer<Object> valueDeserializer,
+            StaticPermissionService staticPermissionService
+    ) {
+        super(type);
+        this.type = type;
+        this.keyType = keyType;
+        this.valueTypeDeserializer = valueTypeDeserializer;
+        this.valueDeserializer = valueDeserializer;
+        this.staticPermissionService = staticPermissionService;
+    }
+
+    @Override
+    public void resolve(DeserializationContext context) throws JsonMappingException {
+        if (valueDeserializer == null) {
+            valueDeserializer = context.findRootValueDeserializer(type.getContentType());
+        }
+    }
+
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        String name;
+        if (parser.isExpectedStartObjectToken()) {
+            name = parser.nextFieldName();
+        } else if (parser.hasToken(JsonToken.FIELD_NAME)) {
+            name = parser.currentName();
+        } else if (parser.hasToken(JsonToken.END_OBJECT)) {
+            name = null;
+        } else {
+            return context.handleUnexpectedToken(type, parser);
+        }
+        var valueDeserializer = Objects.requireNonNull(this.valueDeserializer);
+        var keys = new ArrayList<String>();
+        var values = new ArrayList<>();
+        for (; name != null; name = parser.nextFieldName()) {
+            var token = parser.nextToken();
+            keys.add(name);
+            if (token == JsonToken.VALUE_NULL) {
+                values.add(valueDeserializer.getNullValue(context));
+            } else if (valueTypeDeserializer == null) {
+                values.add(valueDeserializer.deserialize(parser, context));
+            } else {
+                values.add(valueDeserializer.deserializeWithType(parser, context, valueTypeDeserializer));
+            }
+        }
+        // Every key is checked at once, so duplicates are only checked once.
+        var intents = staticPermissionService.requireAll(keys, keyType);
+        var map = CollectionFactory.createMap(type.getRawClass(), keyType, keys.size());
+        var names = new HashMap<Object, String>();
+        for (var i = 0; i < keys.size(); i++) {
+            // A repeated field replaces the earlier value, as for any map, but
+            // different fields that convert to equal intents are ambiguous.
+            var previous = names.put(intents.get(i), keys.get(i));
+            if (previous != null && !previous.equals(keys.get(i))) {
+                return context.reportInputMismatch(this, "'%s' and '%s' convert to the same intent.", previous, keys.get(i));
+            }
+            map.put(intents.get(i), values.get(i));
+        }
+        return map;
+    }
+
+}
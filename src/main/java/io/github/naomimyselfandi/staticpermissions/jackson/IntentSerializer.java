@@ -0,0 +1,80 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import lombok.EqualsAndHashCode;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+@EqualsAndHashCode(callSuper = false)
+final class IntentSerializer extends StdSerializer<Intent> {
+
+    private static final SerializedString AUTHENTICATION = new SerializedString("__auth__");
+
+    private record Property(SerializedString name, String key) {}
+
+    private final Class<? extends Intent> intentType;
+
+    @EqualsAndHashCode.Exclude
+    private final List<Property> properties;
+
+    IntentSerializer(Class<? extends Intent> intentType, StaticPermissionService staticPermissionService) {
+        super(Intent.class);
+        this.intentType = intentType;
+        this.properties = staticPermissionService
+                .getProperties(intentType)
+                .entrySet()
+                .stream()
+                .map(entry -> new Property(new SerializedString(entry.getKey()), entry.getValue().getName()))
+                .toList();
+    }
+
+    @Override
+    public void serialize(Intent value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(value);
+        writeFields(value, generator, provider);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(
+            Intent value,
+            JsonGenerator generator,
+            SerializerProvider provider,
+            TypeSerializer typeSerializer
+    ) throws IOException {
+        var typeId = typeSerializer.writeTypePrefix(generator, typeSerializer.typeId(value, JsonToken.START_OBJECT));
+        writeFields(value, generator, provider);
+        typeSerializer.writeTypeSuffix(generator, typeId);
+    }
+
+    // Only stored values are written; properties left to their defaults get
+    // the same defaults again when the JSON is read back.
+    private void writeFields(Intent value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        var data = value.__data__();
+        for (var property : properties) {
+            var propertyValue = data.get(property.key);
+            if (propertyValue instanceof Optional<?> optional) {
+                propertyValue = optional.orElse(null);
+            }
+            if (propertyValue != null) {
+                generator.writeFieldName(property.name);
+                provider.defaultSerializeValue(propertyValue, generator);
+            }
+        }
+        if (provider.getAttribute(AuthenticationInclusion.class) == AuthenticationInclusion.NAME) {
+            var authentication = value.__auth__();
+            generator.writeFieldName(AUTHENTICATION);
+            generator.writeString(authentication == null ? null : authentication.getName());
+        }
+    }
+
+}
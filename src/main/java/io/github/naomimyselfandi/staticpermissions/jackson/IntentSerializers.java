@@ -0,0 +1,42 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Proxy;
+
+@RequiredArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+final class IntentSerializers extends Serializers.Base {
+
+    private final StaticPermissionService staticPermissionService;
+
+    @Override
+    public @Nullable JsonSerializer<?> findSerializer(
+            @Nullable SerializationConfig config,
+            JavaType javaType,
+            @Nullable BeanDescription beanDesc
+    ) {
+        var type = getIntentType(javaType.getRawClass());
+        return type == null ? null : new IntentSerializer(type, staticPermissionService);
+    }
+
+    // Intent objects are proxies implementing exactly their intent type.
+    private static @Nullable Class<? extends Intent> getIntentType(Class<?> type) {
+        if (type.isInterface() && Intent.class.isAssignableFrom(type)) {
+            return type.asSubclass(Intent.class);
+        } else if (Proxy.isProxyClass(type)) {
+            var interfaces = type.getInterfaces();
+            if (interfaces.length == 1 && Intent.class.isAssignableFrom(interfaces[0])) {
+                return interfaces[0].asSubclass(Intent.class);
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,42 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+/**
+ * Bulk ingestion of intent records. This may be autowired wherever a Jackson
+ * {@code ObjectMapper} bean is available.
+ *
+ * <p>Input may be newline-delimited JSON, a plain sequence of JSON values, or a
+ * single JSON array. Records are parsed as the result stream is consumed and
+ * checked on the common fork/join pool, with a bounded number in flight, so
+ * parsing overlaps with policy evaluation, and memory use doesn't depend on the
+ * size of the input. Decisions are produced in input order. Each record is
+ * bound to the intent type's declared properties as it's parsed, without
+ * building a {@code JsonNode} tree; that binding is the decision's source
+ * object. A record that isn't a JSON object is read as a {@code JsonNode}.</p>
+ *
+ * <p>Access policies are applied for the user authenticated when reading
+ * begins. Malformed input fails the stream when the malformed record is
+ * reached, not up front.</p>
+ */
+public interface IntentStreamReader {
+
+    /**
+     * Read and check intent records.
+     *
+     * @param input The input to read. It's closed when the returned stream is
+     *              closed, so the stream should be used in a
+     *              try-with-resources statement.
+     * @param type The intent type to check each record as.
+     * @return A lazily populated stream of decisions, one per record.
+     * @param <I> The intent type to check each record as.
+     * @throws IOException if the start of the input can't be read.
+     */
+    <I extends Intent> Stream<Decision<I>> read(InputStream input, Class<I> type) throws IOException;
+
+}
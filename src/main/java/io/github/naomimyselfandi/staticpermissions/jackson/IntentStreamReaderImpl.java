@@ -0,0 +1,88 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Component
+final class IntentStreamReaderImpl implements IntentStreamReader {
+
+    // Wraps the source object read for one record.
+    private record Source(Object value) {}
+
+    private final ConcurrentLruCache<Class<? extends Intent>, ObjectReader> readers;
+    private final StaticPermissionService staticPermissionService;
+
+    IntentStreamReaderImpl(ObjectMapper objectMapper, StaticPermissionService staticPermissionService) {
+        // Each intent type gets a reader whose root deserializer binds records
+        // in a single pass, the same way the intent type's deserializer does.
+        this.readers = new ConcurrentLruCache<>(256, type -> {
+            var deserializer = new SourceDeserializer(new IntentDeserializer<>(type, staticPermissionService));
+            var module = new SimpleModule().addDeserializer(Source.class, deserializer);
+            return objectMapper.copy().registerModule(module).readerFor(Source.class);
+        });
+        this.staticPermissionService = staticPermissionService;
+    }
+
+    @Override
+    public <I extends Intent> Stream<Decision<I>> read(InputStream input, Class<I> type) throws IOException {
+        MappingIterator<Source> records = readers.get(type).readValues(input);
+        var characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        // A parallel source makes partition() check records concurrently while
+        // this thread keeps parsing, with a bounded number in flight.
+        var sources = StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(records, characteristics), true)
+                .map(Source::value)
+                .onClose(() -> close(records));
+        return staticPermissionService.partition(sources, type);
+    }
+
+    private static void close(MappingIterator<?> records) {
+        try {
+            records.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class SourceDeserializer extends StdDeserializer<Source> implements ResolvableDeserializer {
+
+        private final IntentDeserializer<?> intentDeserializer;
+
+        SourceDeserializer(IntentDeserializer<?> intentDeserializer) {
+            super(Source.class);
+            this.intentDeserializer = intentDeserializer;
+        }
+
+        @Override
+        public void resolve(DeserializationContext context) throws JsonMappingException {
+            intentDeserializer.resolve(context);
+        }
+
+        @Override
+        public Source deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return new Source(intentDeserializer.readSource(parser, context));
+        }
+
+    }
+
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JavaType;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
 import lombok.EqualsAndHashCode;
@@ -11,7 +12,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.core.ResolvableType;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ConcurrentLruCache;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 
 @Component
@@ -20,20 +23,56 @@ final class JsonNodePropertyExtractor implements PropertyExtractor<JsonNode> {
 
     private final ObjectMapper objectMapper;
 
+    private final ConcurrentLruCache<Method, ObjectReader> readers = new ConcurrentLruCache<>(256, this::createReader);
+
     @Override
     public @Nullable Object extract(JsonNode source, Method method, String propertyName) {
-        var targetType = resolveJavaType(method, objectMapper.getTypeFactory());
         var node = source.get(propertyName);
         if (node == null || node.isNull() || node.isMissingNode()) {
             return null;
+        }
+        var scalar = convertScalar(node, method.getReturnType());
+        if (scalar != null) {
+            return scalar;
         } else try {
-            return objectMapper.convertValue(node, targetType);
-        } catch (IllegalArgumentException thrownByConvertValue) {
+            return readers.get(method).readValue(node);
+        } catch (IOException | IllegalArgumentException thrownByReadValue) {
             return TYPE_MISMATCH;
         }
     }
 
-    private static JavaType resolveJavaType(Method method, TypeFactory typeFactory) {
+    @Override
+    public boolean isPresent(JsonNode source, Method method, String propertyName) {
+        var node = source.get(propertyName);
+        return node != null && !node.isNull() && !node.isMissingNode();
+    }
+
+    private ObjectReader createReader(Method method) {
+        return objectMapper.readerFor(resolveJavaType(method, objectMapper.getTypeFactory()));
+    }
+
+    // The common scalar cases don't need a reader. Anything that might need
+    // coercion, and therefore depends on the mapper's configuration, does.
+    private static @Nullable Object convertScalar(JsonNode node, Class<?> type) {
+        if (node.isTextual()) {
+            return type == String.class || type == CharSequence.class ? node.textValue() : null;
+        } else if (node.isBoolean()) {
+            return type == boolean.class || type == Boolean.class ? node.booleanValue() : null;
+        } else if (node.isInt()) {
+            if (type == int.class || type == Integer.class) {
+                return node.intValue();
+            } else if (type == long.class || type == Long.class) {
+                return node.longValue();
+            }
+        } else if (node.isLong()) {
+            return type == long.class || type == Long.class ? node.longValue() : null;
+        } else if (node.isDouble()) {
+            return type == double.class || type == Double.class ? node.doubleValue() : null;
+        }
+        return null;
+    }
+
+    static JavaType resolveJavaType(Method method, TypeFactory typeFactory) {
         return resolveJavaType(ResolvableType.forMethodReturnType(method), typeFactory);
     }
 
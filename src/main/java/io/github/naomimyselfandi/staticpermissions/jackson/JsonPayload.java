@@ -0,0 +1,133 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An encoded JSON document, usable as a source object. The document may be in
+ * any format Jackson supports, including binary formats such as Smile or CBOR;
+ * the factory determines how it's parsed. For example:
+ *
+ * <pre>{@code
+ * var update = service.require(JsonPayload.of(new SmileFactory(), body), DocumentUpdate.class);
+ * }</pre>
+ *
+ * <p>The document's top level is scanned once, when a property value is first
+ * needed, and the declared properties' values are buffered as tokens; other
+ * values are skipped. Neither text JSON nor a {@code JsonNode} tree is built.
+ * As with Jackson, if a name appears more than once, the last value is used.
+ * The document should be an object.</p>
+ */
+@ToString
+@EqualsAndHashCode
+public final class JsonPayload {
+
+    private final JsonFactory factory;
+    private final ByteBuffer content;
+
+    private record Fields(Set<String> names, Map<String, TokenBuffer> values) {}
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile Fields fields = new Fields(Set.of(), Map.of());
+
+    /**
+     * Create a payload.
+     *
+     * @param factory The factory for the document's format.
+     * @param content The encoded document. Its position and limit are respected,
+     *                but not modified.
+     */
+    public JsonPayload(JsonFactory factory, ByteBuffer content) {
+        this.factory = factory;
+        this.content = content;
+    }
+
+    /**
+     * Create a payload from a byte array.
+     *
+     * @param factory The factory for the document's format.
+     * @param content The encoded document.
+     * @return The payload.
+     */
+    public static JsonPayload of(JsonFactory factory, byte[] content) {
+        return new JsonPayload(factory, ByteBuffer.wrap(content));
+    }
+
+    /**
+     * Get the factory for the document's format.
+     *
+     * @return The factory for the document's format.
+     */
+    public JsonFactory factory() {
+        return factory;
+    }
+
+    /**
+     * Get the encoded document.
+     *
+     * @return The encoded document.
+     */
+    public ByteBuffer content() {
+        return content;
+    }
+
+    // Get a top-level value, or null if it's missing or null. The first call
+    // buffers every named value in one pass; a later call for a name outside
+    // that pass scans again. Racing callers may each scan, but always agree.
+    @Nullable TokenBuffer get(String name, Set<String> names) throws IOException {
+        var fields = this.fields;
+        if (!fields.names().contains(name)) {
+            var scanned = new HashSet<>(fields.names());
+            scanned.addAll(names);
+            scanned.add(name);
+            fields = readFields(scanned);
+            this.fields = fields;
+        }
+        return fields.values().get(name);
+    }
+
+    JsonParser createParser() throws IOException {
+        if (content.hasArray()) {
+            var offset = content.arrayOffset() + content.position();
+            return factory.createParser(content.array(), offset, content.remaining());
+        } else {
+            return factory.createParser(new ByteBufferBackedInputStream(content.duplicate()));
+        }
+    }
+
+    private Fields readFields(Set<String> names) throws IOException {
+        var values = new HashMap<String, TokenBuffer>();
+        try (var parser = createParser()) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                for (var name = parser.nextFieldName(); name != null; name = parser.nextFieldName()) {
+                    var token = parser.nextToken();
+                    if (!names.contains(name)) {
+                        parser.skipChildren();
+                    } else if (token == JsonToken.VALUE_NULL) {
+                        values.remove(name);
+                    } else {
+                        var buffer = new TokenBuffer(parser);
+                        buffer.copyCurrentStructure(parser);
+                        values.put(name, buffer);
+                    }
+                }
+            }
+        }
+        return new Fields(Set.copyOf(names), Map.copyOf(values));
+    }
+
+}
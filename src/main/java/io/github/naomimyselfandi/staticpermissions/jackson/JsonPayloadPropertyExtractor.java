@@ -0,0 +1,72 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+@Component
+final class JsonPayloadPropertyExtractor implements PropertyExtractor<JsonPayload> {
+
+    private final ConcurrentLruCache<Method, ObjectReader> readers;
+    private final ConcurrentLruCache<Class<?>, Set<String>> declaredNames;
+
+    // The service's extractors include this one, so it's looked up lazily.
+    JsonPayloadPropertyExtractor(
+            ObjectMapper objectMapper,
+            ObjectProvider<StaticPermissionService> staticPermissionService
+    ) {
+        this.readers = new ConcurrentLruCache<>(256, method -> {
+            var type = JsonNodePropertyExtractor.resolveJavaType(method, objectMapper.getTypeFactory());
+            return objectMapper.readerFor(type);
+        });
+        // Every property declared alongside the requested one is read in the
+        // same pass, since the intent object will need them too.
+        this.declaredNames = new ConcurrentLruCache<>(256, type -> Intent.class.isAssignableFrom(type)
+                ? staticPermissionService.getObject().getProperties(type.asSubclass(Intent.class)).keySet()
+                : Set.of());
+    }
+
+    @Override
+    public @Nullable Object extract(JsonPayload source, Method method, String propertyName) {
+        try {
+            var value = get(source, method, propertyName);
+            if (value == null) {
+                return null;
+            }
+            try (var parser = value.asParser()) {
+                return readers.get(method).readValue(parser);
+            } catch (DatabindException thrownByReadValue) {
+                return TYPE_MISMATCH;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isPresent(JsonPayload source, Method method, String propertyName) {
+        try {
+            return get(source, method, propertyName) != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private @Nullable TokenBuffer get(JsonPayload source, Method method, String propertyName) throws IOException {
+        return source.get(propertyName, declaredNames.get(method.getDeclaringClass()));
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.SerializerProvider;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+
+// Decisions made during a single serialization, keyed by source identity since
+// the objects being written needn't have meaningful equality.
+@RequiredArgsConstructor
+final class PermissionCache {
+
+    private final StaticPermissionService staticPermissionService;
+    private final Map<Class<? extends Intent>, Map<Object, Boolean>> decisions = new HashMap<>();
+
+    static PermissionCache get(SerializerProvider provider, StaticPermissionService staticPermissionService) {
+        if (provider.getAttribute(PermissionCache.class) instanceof PermissionCache cache) {
+            return cache;
+        }
+        var cache = new PermissionCache(staticPermissionService);
+        provider.setAttribute(PermissionCache.class, cache);
+        return cache;
+    }
+
+    boolean isPermitted(Class<? extends Intent> type, Object source) {
+        return getDecisions(type).computeIfAbsent(source, it -> staticPermissionService.request(it, type).isPresent());
+    }
+
+    void prefetch(Class<? extends Intent> type, Collection<?> sources) {
+        var known = getDecisions(type);
+        var pending = new ArrayList<>();
+        var seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (var source : sources) {
+            if (source != null && !known.containsKey(source) && seen.add(source)) {
+                pending.add(source);
+            }
+        }
+        if (!pending.isEmpty()) {
+            var results = staticPermissionService.decideAll(pending, type);
+            for (var i = 0; i < pending.size(); i++) {
+                known.put(pending.get(i), results.get(i).isPermitted());
+            }
+        }
+    }
+
+    private Map<Object, Boolean> getDecisions(Class<? extends Intent> type) {
+        return decisions.computeIfAbsent(type, ignored -> new IdentityHashMap<>());
+    }
+
+}
@@ -0,0 +1,39 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicate that the annotated property should only be serialized for users
+ * permitted to perform some operation. The object declaring the property is
+ * used as the source object; if the intent type is denied for the current user,
+ * the property is omitted from the output.
+ *
+ * <pre>{@code
+ * record DocumentView(UUID id, String title, @RequiresIntent(DocumentAudit.class) String history) {}
+ * }</pre>
+ *
+ * <p>Each distinct source object is checked at most once per serialization,
+ * however many properties require the same intent type. When a collection or
+ * array of such objects is serialized, they are checked together, as by
+ * {@link io.github.naomimyselfandi.staticpermissions.StaticPermissionService#decideAll(java.util.Collection, Class)
+ * decideAll}, before any of them are written.</p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface RequiresIntent {
+
+    /**
+     * Get the intent type required to see the annotated property.
+     *
+     * @return The required intent type.
+     */
+    Class<? extends Intent> value();
+
+}
@@ -0,0 +1,113 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+
+// Checks every element of a collection or array together before the delegate
+// writes them, so their annotated properties find their decisions cached.
+final class RequiresIntentPrefetchingSerializer extends StdSerializer<Object>
+        implements ContextualSerializer, ResolvableSerializer {
+
+    private final JsonSerializer<Object> delegate;
+    private final RequiresIntentSerializerModifier modifier;
+    private final StaticPermissionService staticPermissionService;
+
+    @SuppressWarnings("unchecked")
+    RequiresIntentPrefetchingSerializer(
+            JsonSerializer<?> delegate,
+            RequiresIntentSerializerModifier modifier,
+            StaticPermissionService staticPermissionService
+    ) {
+        super(delegate.handledType(), false);
+        this.delegate = (JsonSerializer<Object>) delegate;
+        this.modifier = modifier;
+        this.staticPermissionService = staticPermissionService;
+    }
+
+    JsonSerializer<Object> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        prefetch(value, provider);
+        delegate.serialize(value, gen, provider);
+    }
+
+    @Override
+    public void serializeWithType(
+            Object value,
+            JsonGenerator gen,
+            SerializerProvider provider,
+            TypeSerializer typeSerializer
+    ) throws IOException {
+        prefetch(value, provider);
+        delegate.serializeWithType(value, gen, provider, typeSerializer);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Object value) {
+        return delegate.isEmpty(provider, value);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(
+            SerializerProvider provider,
+            @Nullable BeanProperty property
+    ) throws JsonMappingException {
+        if (delegate instanceof ContextualSerializer contextual) {
+            var result = contextual.createContextual(provider, property);
+            if (result != delegate) {
+                return new RequiresIntentPrefetchingSerializer(result, modifier, staticPermissionService);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    private void prefetch(Object value, SerializerProvider provider) {
+        Iterable<?> elements;
+        if (value instanceof Collection<?> collection) {
+            elements = collection;
+        } else if (value instanceof Object[] array) {
+            elements = Arrays.asList(array);
+        } else {
+            return;
+        }
+        var byClass = new LinkedHashMap<Class<?>, List<Object>>();
+        for (var element : elements) {
+            if (element != null) {
+                byClass.computeIfAbsent(element.getClass(), ignored -> new ArrayList<>()).add(element);
+            }
+        }
+        PermissionCache cache = null;
+        for (var entry : byClass.entrySet()) {
+            var sources = entry.getValue();
+            if (sources.size() > 1) {
+                for (var intentType : modifier.getIntentTypes(provider.getConfig(), entry.getKey())) {
+                    cache = cache == null ? PermissionCache.get(provider, staticPermissionService) : cache;
+                    cache.prefetch(intentType, sources);
+                }
+            }
+        }
+    }
+
+}
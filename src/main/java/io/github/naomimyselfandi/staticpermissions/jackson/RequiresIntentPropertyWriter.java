@@ -0,0 +1,62 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+
+final class RequiresIntentPropertyWriter extends BeanPropertyWriter {
+
+    private final Class<? extends Intent> intentType;
+    private final StaticPermissionService staticPermissionService;
+
+    RequiresIntentPropertyWriter(
+            BeanPropertyWriter base,
+            Class<? extends Intent> intentType,
+            StaticPermissionService staticPermissionService
+    ) {
+        super(base);
+        this.intentType = intentType;
+        this.staticPermissionService = staticPermissionService;
+    }
+
+    private RequiresIntentPropertyWriter(RequiresIntentPropertyWriter base, PropertyName name) {
+        super(base, name);
+        this.intentType = base.intentType;
+        this.staticPermissionService = base.staticPermissionService;
+    }
+
+    Class<? extends Intent> getIntentType() {
+        return intentType;
+    }
+
+    @Override
+    protected BeanPropertyWriter _new(PropertyName newName) {
+        return new RequiresIntentPropertyWriter(this, newName);
+    }
+
+    @Override
+    public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (isPermitted(bean, prov)) {
+            super.serializeAsField(bean, gen, prov);
+        } else if (!gen.canOmitFields()) {
+            serializeAsOmittedField(bean, gen, prov);
+        }
+    }
+
+    @Override
+    public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (isPermitted(bean, prov)) {
+            super.serializeAsElement(bean, gen, prov);
+        } else {
+            serializeAsPlaceholder(bean, gen, prov);
+        }
+    }
+
+    private boolean isPermitted(Object bean, SerializerProvider provider) {
+        return PermissionCache.get(provider, staticPermissionService).isPermitted(intentType, bean);
+    }
+
+}
@@ -0,0 +1,92 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.type.ArrayType;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+final class RequiresIntentSerializerModifier extends BeanSerializerModifier {
+
+    private final StaticPermissionService staticPermissionService;
+
+    @EqualsAndHashCode.Exclude
+    private final Map<Class<?>, Set<Class<? extends Intent>>> intentTypes = new ConcurrentHashMap<>();
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(
+            SerializationConfig config,
+            BeanDescription beanDesc,
+            List<BeanPropertyWriter> beanProperties
+    ) {
+        beanProperties.replaceAll(writer -> {
+            var annotation = writer.getAnnotation(RequiresIntent.class);
+            return annotation == null
+                    ? writer
+                    : new RequiresIntentPropertyWriter(writer, annotation.value(), staticPermissionService);
+        });
+        return beanProperties;
+    }
+
+    @Override
+    public JsonSerializer<?> modifyCollectionSerializer(
+            SerializationConfig config,
+            CollectionType valueType,
+            BeanDescription beanDesc,
+            JsonSerializer<?> serializer
+    ) {
+        return prefetching(config, valueType.getContentType(), serializer);
+    }
+
+    @Override
+    public JsonSerializer<?> modifyArraySerializer(
+            SerializationConfig config,
+            ArrayType valueType,
+            BeanDescription beanDesc,
+            JsonSerializer<?> serializer
+    ) {
+        return prefetching(config, valueType.getContentType(), serializer);
+    }
+
+    // Elements of a non-final type may turn out to have annotated properties,
+    // so those collections are inspected again when they're written.
+    private JsonSerializer<?> prefetching(SerializationConfig config, JavaType elementType, JsonSerializer<?> serializer) {
+        if (elementType.isContainerType() || elementType.isPrimitive()) {
+            return serializer;
+        } else if (elementType.isFinal() && getIntentTypes(config, elementType.getRawClass()).isEmpty()) {
+            return serializer;
+        } else {
+            return new RequiresIntentPrefetchingSerializer(serializer, this, staticPermissionService);
+        }
+    }
+
+    Set<Class<? extends Intent>> getIntentTypes(SerializationConfig config, Class<?> type) {
+        return intentTypes.computeIfAbsent(type, it -> {
+            var result = new LinkedHashSet<Class<? extends Intent>>();
+            config.introspect(config.constructType(it))
+                    .findProperties()
+                    .stream()
+                    .map(BeanPropertyDefinition::getAccessor)
+                    .filter(Objects::nonNull)
+                    .map(member -> member.getAnnotation(RequiresIntent.class))
+                    .filter(Objects::nonNull)
+                    .map(RequiresIntent::value)
+                    .forEach(result::add);
+            return Set.copyOf(result);
+        });
+    }
+
+}
@@ -31,6 +31,8 @@ final class StaticPermissionModule extends com.fasterxml.jackson.databind.Module
     public void setupModule(SetupContext context) {
         context.addDeserializers(new IntentDeserializers(staticPermissionService));
         context.addKeyDeserializers(new IntentKeyDeserializers(staticPermissionService));
+        context.addSerializers(new IntentSerializers(staticPermissionService));
+        context.addBeanSerializerModifier(new RequiresIntentSerializerModifier(staticPermissionService));
     }
 
     @PostConstruct
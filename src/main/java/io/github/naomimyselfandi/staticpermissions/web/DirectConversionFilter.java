@@ -0,0 +1,77 @@
+package io.github.naomimyselfandi.staticpermissions.web;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BasicDeserializerFactory;
+import org.springframework.core.convert.ConversionService;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Decides whether a raw request value can be handed to the conversion service
+// for a type, rather than going through Jackson. Types that Jackson reads in
+// its own way (annotations, mix-ins, registered deserializers, enum features,
+// or its stricter boolean spellings) keep the Jackson path, so switching modes
+// never changes which values a property accepts.
+final class DirectConversionFilter implements Predicate<Class<?>> {
+
+    private final ObjectMapper objectMapper;
+    private final ConversionService conversionService;
+
+    DirectConversionFilter(ObjectMapper objectMapper, ConversionService conversionService) {
+        this.objectMapper = objectMapper;
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public boolean test(Class<?> type) {
+        return !isJacksonSpecific(type) && conversionService.canConvert(String.class, type);
+    }
+
+    private boolean isJacksonSpecific(Class<?> type) {
+        if (type == boolean.class || type == Boolean.class) {
+            return true;
+        } else if (type.isEnum() && hasEnumFeatures()) {
+            return true;
+        } else {
+            return objectMapper.findMixInClassFor(type) != null || hasAnnotations(type) || hasDeserializer(type);
+        }
+    }
+
+    private boolean hasEnumFeatures() {
+        var config = objectMapper.getDeserializationConfig();
+        return config.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                || config.isEnabled(DeserializationFeature.READ_ENUMS_USING_TO_STRING)
+                || config.isEnabled(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL)
+                || config.isEnabled(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE);
+    }
+
+    private boolean hasDeserializer(Class<?> type) {
+        var config = objectMapper.getDeserializationConfig();
+        if (objectMapper.getDeserializationContext().getFactory() instanceof BasicDeserializerFactory factory) {
+            for (var deserializers : factory.getFactoryConfig().deserializers()) {
+                if (deserializers.hasDeserializerFor(config, type)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Every Jackson annotation is meta-annotated with @JacksonAnnotation, so
+    // this covers @JsonCreator, @JsonValue, @JsonProperty on enum constants,
+    // @JsonDeserialize, @JsonFormat and so on.
+    private static boolean hasAnnotations(Class<?> type) {
+        return Stream
+                .of(Stream.of(type), Arrays.stream(type.getDeclaredFields()),
+                        Arrays.stream(type.getDeclaredMethods()), Arrays.stream(type.getDeclaredConstructors()))
+                .flatMap(stream -> stream.map(AnnotatedElement.class::cast))
+                .flatMap(element -> Arrays.stream(element.getAnnotations()))
+                .anyMatch(annotation -> annotation.annotationType().isAnnotationPresent(JacksonAnnotation.class));
+    }
+
+}
@@ -5,4 +5,5 @@ import org.springframework.lang.Nullable;
 
 interface JsonNodeHelper {
     JsonNode infer(@Nullable String input);
+    JsonNode parse(@Nullable String input, Class<?> type);
 }
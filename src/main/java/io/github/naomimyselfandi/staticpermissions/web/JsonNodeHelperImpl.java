@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.node.*;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.regex.Pattern;
 
 @Component
@@ -52,4 +54,36 @@ final class JsonNodeHelperImpl implements JsonNodeHelper {
         }
     }
 
+    // Parses for the property the value is bound to, so strings that merely
+    // look like numbers stay strings. Unparseable values are left as text for
+    // the property extractor to reject.
+    @Override
+    public JsonNode parse(@Nullable String input, Class<?> type) {
+        if (input == null) {
+            return NullNode.getInstance();
+        } else if (type == Object.class || type == Number.class || JsonNode.class.isAssignableFrom(type)) {
+            return infer(input);
+        } else try {
+            if (type == int.class || type == Integer.class) {
+                return new IntNode(Integer.parseInt(input));
+            } else if (type == long.class || type == Long.class) {
+                return new LongNode(Long.parseLong(input));
+            } else if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+                return new DoubleNode(Double.parseDouble(input));
+            } else if (type == BigInteger.class) {
+                return new BigIntegerNode(new BigInteger(input));
+            } else if (type == BigDecimal.class) {
+                return new DecimalNode(new BigDecimal(input));
+            } else if ((type == boolean.class || type == Boolean.class) && "true".equals(input)) {
+                return BooleanNode.TRUE;
+            } else if ((type == boolean.class || type == Boolean.class) && "false".equals(input)) {
+                return BooleanNode.FALSE;
+            } else {
+                return new TextNode(input);
+            }
+        } catch (NumberFormatException e) {
+            return new TextNode(input);
+        }
+    }
+
 }
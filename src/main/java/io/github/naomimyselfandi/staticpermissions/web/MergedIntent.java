@@ -17,10 +17,21 @@ import java.lang.annotation.Target;
  * Once all values are injected, the {@code ObjectNode} is converted to an
  * intent object of the parameter's type</p>
  *
- * <p>Since these data sources are untyped, an appropriate {@code JsonNode} type
- * is inferred for each value. For example, {@code 42} is represented as an
- * {@code IntNode}, {@code true} is represented as a {@code BooleanNode}, and
- * {@code foo} is represented as a {@code TextNode}. Request parameters and
+ * <p>If the request body is not consumed and no injected value needs its JSON
+ * type inferred, as described below, no {@code ObjectNode} is built: the raw
+ * values are converted directly to the intent's property types with the
+ * application's {@code ConversionService}.</p>
+ *
+ * <p>Since these data sources are untyped, each value is parsed according to
+ * the type of the intent property it is injected as. For example, {@code 042}
+ * is represented as an {@code IntNode} for an {@code int} property, but as a
+ * {@code TextNode} for a {@code String} property. If the property is untyped
+ * ({@code Object}, {@code Number}, or a {@code JsonNode}) or the key does not
+ * name a property, an appropriate {@code JsonNode} type is inferred instead:
+ * {@code 42} is represented as an {@code IntNode}, {@code true} is represented
+ * as a {@code BooleanNode}, and {@code foo} is represented as a
+ * {@code TextNode}. For values injected as an {@code ArrayNode}, the element
+ * type of a collection or array property is used. Request parameters and
  * headers are typically trimmed to the first value (if any), but may be mapped
  * as {@code ArrayNode}s to retain all values. Consult the individual annotation
  * parameters for further information.</p>
@@ -5,13 +5,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.github.naomimyselfandi.staticpermissions.Intent;
 import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
@@ -20,11 +22,10 @@ import org.springframework.web.method.support.ModelAndViewContainer;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
 import static org.springframework.web.servlet.HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE;
@@ -35,6 +36,10 @@ class MergedIntentArgumentResolver implements HandlerMethodArgumentResolver {
     final StaticPermissionService staticPermissionService;
     final JsonNodeHelper jsonNodeHelper;
     final ObjectMapper objectMapper;
+    final ObjectProvider<ConversionService> conversionService;
+
+    private final ConcurrentLruCache<MethodParameter, MergedIntentBindingPlan> plans =
+            new ConcurrentLruCache<>(256, this::compile);
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
@@ -49,89 +54,133 @@ class MergedIntentArgumentResolver implements HandlerMethodArgumentResolver {
             NativeWebRequest webRequest,
             @Nullable WebDataBinderFactory binderFactory
     ) throws Exception {
-        var annotation = Objects.requireNonNull(parameter.getParameterAnnotation(MergedIntent.class));
+        var plan = plans.get(parameter);
         var request = Objects.requireNonNull(webRequest.getNativeRequest(HttpServletRequest.class));
-        var data = begin(request, annotation.body());
-        injectPathVariables(webRequest, data, annotation.path());
-        injectFields(webRequest::getHeader, webRequest::getHeaderValues, data, annotation.headers());
-        injectFields(webRequest::getParameter, webRequest::getParameterValues, data, annotation.params());
-        injectCookies(request.getCookies(), data, annotation.cookies());
-        return staticPermissionService.require(data, parameter.getParameterType().asSubclass(Intent.class));
+        if (plan.direct()) {
+            var parts = new HashMap<String, Object>();
+            inject(webRequest, request, plan, new Sink() {
+
+                @Override
+                public void put(String key, @Nullable String value, Class<?> type) {
+                    parts.put(key, value);
+                }
+
+                @Override
+                public void putAll(String key, @Nullable String[] values, Class<?> type) {
+                    parts.put(key, values == null ? List.of() : Arrays.asList(values));
+                }
+
+            });
+            return staticPermissionService.require(new RequestParts(parts), plan.intentType());
+        }
+        var data = begin(request, plan);
+        inject(webRequest, request, plan, new Sink() {
+
+            @Override
+            public void put(String key, @Nullable String value, Class<?> type) {
+                data.set(key, jsonNodeHelper.parse(value, type));
+            }
+
+            @Override
+            public void putAll(String key, @Nullable String[] values, Class<?> type) {
+                var array = new ArrayNode(JsonNodeFactory.instance, values == null ? 0 : values.length);
+                if (values != null) {
+                    for (var value : values) {
+                        array.add(jsonNodeHelper.parse(value, type));
+                    }
+                }
+                data.set(key, array);
+            }
+
+        });
+        return staticPermissionService.require(data, plan.intentType());
     }
 
-    private static Map.Entry<String, String> split(String mapping) {
-        var parts = mapping.split(":", 2);
-        return Map.entry(parts[0], parts[parts.length == 2 ? 1 : 0]);
+    private MergedIntentBindingPlan compile(MethodParameter parameter) {
+        var filter = new DirectConversionFilter(objectMapper, conversionService.getObject());
+        return MergedIntentBindingPlan.compile(parameter, staticPermissionService, filter);
     }
 
-    private ObjectNode begin(HttpServletRequest request, String mapping) throws IOException {
-        if (mapping.equals("*")) {
-            try (var input = request.getInputStream()) {
-                return objectMapper.readValue(input, ObjectNode.class);
+    private ObjectNode begin(HttpServletRequest request, MergedIntentBindingPlan plan) throws IOException {
+        return switch (plan.body()) {
+            case SPLAT -> {
+                try (var input = request.getInputStream()) {
+                    yield objectMapper.readValue(input, ObjectNode.class);
+                }
             }
-        } else if (!mapping.isEmpty()) {
-            try (var input = request.getInputStream()) {
-                var data = new ObjectNode(JsonNodeFactory.instance, new HashMap<>());
-                data.set(mapping, objectMapper.readTree(input));
-                return data;
+            case KEYED -> {
+                try (var input = request.getInputStream()) {
+                    var data = new ObjectNode(JsonNodeFactory.instance, new HashMap<>());
+                    data.set(plan.bodyKey(), objectMapper.readTree(input));
+                    yield data;
+                }
             }
-        } else {
-            return new ObjectNode(JsonNodeFactory.instance, new HashMap<>());
-        }
+            case NONE -> new ObjectNode(JsonNodeFactory.instance, new HashMap<>());
+        };
     }
 
-    private void injectPathVariables(NativeWebRequest request, ObjectNode data, String[] mappings) {
+    private static void inject(
+            NativeWebRequest webRequest,
+            HttpServletRequest request,
+            MergedIntentBindingPlan plan,
+            Sink sink
+    ) {
+        injectPathVariables(webRequest, sink, plan);
+        injectFields(webRequest::getHeader, webRequest::getHeaderValues, sink, plan.headers());
+        injectFields(webRequest::getParameter, webRequest::getParameterValues, sink, plan.params());
+        injectCookies(request.getCookies(), sink, plan.cookies());
+    }
+
+    private static void injectPathVariables(NativeWebRequest request, Sink sink, MergedIntentBindingPlan plan) {
         @SuppressWarnings("unchecked")
         var map = (Map<String, String>) request.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST);
         if (map != null) {
-            if (mappings.length == 0) {
+            if (plan.allPathVariables()) {
                 for (var entry : map.entrySet()) {
-                    data.set(entry.getKey(), jsonNodeHelper.infer(entry.getValue()));
+                    sink.put(entry.getKey(), entry.getValue(), plan.getValueType(entry.getKey()));
                 }
             } else {
-                for (var mapping : mappings) {
-                    var entry = split(mapping);
-                    data.set(entry.getKey(), jsonNodeHelper.infer(map.get(entry.getValue())));
+                for (var binding : plan.path()) {
+                    sink.put(binding.key(), map.get(binding.name()), binding.type());
                 }
             }
         }
     }
 
-    private void injectFields(
+    private static void injectFields(
             Function<String, String> mono,
             Function<String, String[]> poly,
-            ObjectNode data,
-            String[] mappings
+            Sink sink,
+            List<MergedIntentBindingPlan.Binding> bindings
     ) {
-        for (var mapping : mappings) {
-            var usePoly = mapping.startsWith("*");
-            var entry = split(usePoly ? mapping.substring(1) : mapping);
-            if (usePoly) {
-                var array = Stream
-                        .ofNullable(poly.apply(entry.getValue()))
-                        .flatMap(Arrays::stream)
-                        .map(jsonNodeHelper::infer)
-                        .toList();
-                data.set(entry.getKey(), new ArrayNode(JsonNodeFactory.instance, array));
+        for (var binding : bindings) {
+            if (binding.multiple()) {
+                sink.putAll(binding.key(), poly.apply(binding.name()), binding.type());
             } else {
-                data.set(entry.getKey(), jsonNodeHelper.infer(mono.apply(entry.getValue())));
+                sink.put(binding.key(), mono.apply(binding.name()), binding.type());
             }
         }
     }
 
-    private void injectCookies(@Nullable Cookie[] cookies, ObjectNode data, String[] mappings) {
-        if (cookies != null) {
-            var map = Arrays
-                    .stream(mappings)
-                    .map(MergedIntentArgumentResolver::split)
-                    .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+    private static void injectCookies(
+            @Nullable Cookie[] cookies,
+            Sink sink,
+            Map<String, MergedIntentBindingPlan.Binding> bindings
+    ) {
+        if (cookies != null && !bindings.isEmpty()) {
             for (var cookie : cookies) {
-                var key = map.get(cookie.getName());
-                if (key != null) {
-                    data.set(key, jsonNodeHelper.infer(cookie.getValue()));
+                var binding = bindings.get(cookie.getName());
+                if (binding != null) {
+                    sink.put(binding.key(), cookie.getValue(), binding.type());
                 }
             }
         }
     }
 
+    // Receives each raw value along with the type of the property it's bound to.
+    private interface Sink {
+        void put(String key, @Nullable String value, Class<?> type);
+        void putAll(String key, @Nullable String[] values, Class<?> type);
+    }
+
 }
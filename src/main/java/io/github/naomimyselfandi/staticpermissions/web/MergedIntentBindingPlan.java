@@ -0,0 +1,121 @@
+package io.github.naomimyselfandi.staticpermissions.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// A @MergedIntent annotation with its mappings already parsed, and the type of
+// the property each value is bound to already resolved.
+record MergedIntentBindingPlan(
+        Class<? extends Intent> intentType,
+        Body body,
+        String bodyKey,
+        boolean allPathVariables,
+        List<Binding> path,
+        List<Binding> params,
+        List<Binding> headers,
+        Map<String, Binding> cookies,
+        Map<String, Class<?>> valueTypes,
+        boolean direct
+) {
+
+    enum Body { NONE, SPLAT, KEYED }
+
+    record Binding(String key, String name, boolean multiple, Class<?> type) {}
+
+    static MergedIntentBindingPlan compile(
+            MethodParameter parameter,
+            StaticPermissionService staticPermissionService,
+            Predicate<Class<?>> directlyConvertible
+    ) {
+        var annotation = Objects.requireNonNull(parameter.getParameterAnnotation(MergedIntent.class));
+        var intentType = parameter.getParameterType().asSubclass(Intent.class);
+        var properties = staticPermissionService.getProperties(intentType);
+        var valueTypes = new HashMap<String, Class<?>>();
+        properties.forEach((name, method) -> valueTypes.put(name, getValueType(method, intentType).toClass()));
+        Function<String, Binding> parser = mapping -> parse(mapping, properties, intentType);
+        var body = switch (annotation.body()) {
+            case "" -> Body.NONE;
+            case "*" -> Body.SPLAT;
+            default -> Body.KEYED;
+        };
+        var path = Arrays.stream(annotation.path()).map(parser).toList();
+        var params = Arrays.stream(annotation.params()).map(parser).toList();
+        var headers = Arrays.stream(annotation.headers()).map(parser).toList();
+        var cookies = Arrays
+                .stream(annotation.cookies())
+                .map(parser)
+                .collect(Collectors.toUnmodifiableMap(Binding::name, Function.identity()));
+        // Without a body, values can be converted straight to their properties'
+        // types, unless some property relies on a JSON type being inferred or
+        // on Jackson reading it in its own way. Only the types a value can be
+        // bound to matter; other properties never receive a value here.
+        var boundTypes = Stream
+                .of(path, params, headers, cookies.values())
+                .flatMap(Collection::stream)
+                .filter(binding -> properties.containsKey(binding.key()))
+                .map(Binding::type);
+        var types = path.isEmpty() ? Stream.concat(boundTypes, valueTypes.values().stream()) : boundTypes;
+        var direct = body == Body.NONE && types.allMatch(type -> !isUntyped(type) && directlyConvertible.test(type));
+        return new MergedIntentBindingPlan(
+                intentType,
+                body,
+                annotation.body(),
+                path.isEmpty(),
+                path,
+                params,
+                headers,
+                cookies,
+                Map.copyOf(valueTypes),
+                direct
+        );
+    }
+
+    Class<?> getValueType(String key) {
+        return valueTypes.getOrDefault(key, Object.class);
+    }
+
+    private static Binding parse(String mapping, Map<String, Method> properties, Class<?> intentType) {
+        var multiple = mapping.startsWith("*");
+        var parts = (multiple ? mapping.substring(1) : mapping).split(":", 2);
+        var method = properties.get(parts[0]);
+        Class<?> type;
+        if (method == null) {
+            type = Object.class;
+        } else if (multiple) {
+            type = getElementType(getValueType(method, intentType));
+        } else {
+            type = getValueType(method, intentType).toClass();
+        }
+        return new Binding(parts[0], parts[parts.length == 2 ? 1 : 0], multiple, type);
+    }
+
+    private static boolean isUntyped(Class<?> type) {
+        return type == Object.class || type == Number.class || JsonNode.class.isAssignableFrom(type);
+    }
+
+    private static ResolvableType getValueType(Method method, Class<?> intentType) {
+        var type = ResolvableType.forMethodReturnType(method, intentType);
+        return type.toClass() == Optional.class ? type.getGeneric(0) : type;
+    }
+
+    private static Class<?> getElementType(ResolvableType type) {
+        if (type.isArray()) {
+            return type.getComponentType().toClass();
+        } else if (Collection.class.isAssignableFrom(type.toClass())) {
+            return type.asCollection().getGeneric(0).toClass();
+        } else {
+            return Object.class;
+        }
+    }
+
+}
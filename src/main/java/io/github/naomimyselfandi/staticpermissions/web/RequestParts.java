@@ -0,0 +1,7 @@
+package io.github.naomimyselfandi.staticpermissions.web;
+
+import java.util.Map;
+
+// Raw values taken from a request without a body, keyed by property name. Each
+// value is a string, or a list of strings for multiple-valued mappings.
+record RequestParts(Map<String, Object> values) {}
@@ -0,0 +1,50 @@
+package io.github.naomimyselfandi.staticpermissions.web;
+
+import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.lang.reflect.Method;
+
+final class RequestPartsPropertyExtractor implements PropertyExtractor<RequestParts> {
+
+    private final ConversionService conversionService;
+    private final ConcurrentLruCache<Method, TypeDescriptor> returnTypes;
+
+    RequestPartsPropertyExtractor(ConversionService conversionService) {
+        this.conversionService = conversionService;
+        this.returnTypes = new ConcurrentLruCache<>(256, method -> {
+            return new TypeDescriptor(ResolvableType.forMethodReturnType(method), null, null);
+        });
+    }
+
+    @Override
+    public @Nullable Object extract(RequestParts source, Method method, String propertyName) {
+        var value = source.values().get(propertyName);
+        if (value == null) {
+            return null;
+        } else if (value instanceof String && method.getReturnType() == String.class) {
+            return value;
+        }
+        var returnType = returnTypes.get(method);
+        if (!conversionService.canConvert(TypeDescriptor.forObject(value), returnType)) {
+            return TYPE_MISMATCH;
+        } else try {
+            return conversionService.convert(value, returnType);
+        } catch (ConversionException thrownByConvert) {
+            // Request values are user input, so this is a bad request rather
+            // than a misconfiguration.
+            return TYPE_MISMATCH;
+        }
+    }
+
+    @Override
+    public boolean isPresent(RequestParts source, Method method, String propertyName) {
+        return source.values().get(propertyName) != null;
+    }
+
+}
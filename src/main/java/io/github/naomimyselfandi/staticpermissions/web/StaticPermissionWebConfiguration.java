@@ -1,9 +1,13 @@
 package io.github.naomimyselfandi.staticpermissions.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
 import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -15,11 +19,19 @@ class StaticPermissionWebConfiguration implements WebMvcConfigurer {
 
     private final StaticPermissionService staticPermissionService;
     private final ObjectMapper objectMapper;
+    // Looked up lazily: the MVC conversion service is defined by the same
+    // configuration that collects this configurer.
+    private final ObjectProvider<ConversionService> conversionService;
+
+    @Bean
+    static PropertyExtractor<RequestParts> requestPartsPropertyExtractor(ConversionService conversionService) {
+        return new RequestPartsPropertyExtractor(conversionService);
+    }
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         var jsonNodeParser = new JsonNodeHelperImpl();
-        resolvers.add(new MergedIntentArgumentResolver(staticPermissionService, jsonNodeParser, objectMapper));
+        resolvers.add(new MergedIntentArgumentResolver(staticPermissionService, jsonNodeParser, objectMapper, conversionService));
     }
 
 }
@@ -0,0 +1,112 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationAttributeTest {
+
+    @Mock
+    private Intent intent;
+
+    @Mock
+    private Authentication user, user2;
+
+    private AtomicInteger calls;
+
+    private AuthenticationAttribute<String> fixture;
+
+    @BeforeEach
+    void setup() {
+        calls = new AtomicInteger();
+        fixture = AuthenticationAttribute.of(authentication -> {
+            calls.incrementAndGet();
+            return authentication == user ? "user" : null;
+        });
+    }
+
+    @Test
+    void get() {
+        assertThat(fixture.get(user)).isEqualTo("user");
+        assertThat(fixture.get(user)).isEqualTo("user");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void get_WhenTheValueIsNull_ThenRemembersIt() {
+        assertThat(fixture.get(user2)).isNull();
+        assertThat(fixture.get(user2)).isNull();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void get_Intent() {
+        when(intent.__auth__()).thenReturn(user);
+        assertThat(fixture.get(intent)).isEqualTo("user");
+    }
+
+    @Test
+    void get_WhenAuthenticationsAreEqualButNotIdentical_ThenDerivesSeparately() {
+        var attribute = AuthenticationAttribute.of(authentication -> UUID.randomUUID());
+        var foo = new TestingAuthenticationToken("foo", "bar");
+        var bar = new TestingAuthenticationToken("foo", "bar");
+        assertThat(foo).isEqualTo(bar);
+        assertThat(attribute.get(foo)).isNotEqualTo(attribute.get(bar)).isEqualTo(attribute.get(foo));
+    }
+
+    @Test
+    void get_WhenThereIsNoAuthentication_ThenDerivesOnceWithoutGrowing() {
+        for (var i = 0; i < 1000; i++) {
+            assertThat(fixture.get((Authentication) null)).isNull();
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(fixture.size()).isZero();
+    }
+
+    @Test
+    void get_WhenAnIntentHasNoAuthentication_ThenSharesTheAnonymousValue() {
+        var attribute = AuthenticationAttribute.of(authentication -> authentication == null ? "anonymous" : "user");
+        assertThat(attribute.get(intent)).isEqualTo("anonymous");
+        assertThat(attribute.get((Authentication) null)).isEqualTo("anonymous");
+        assertThat(attribute.size()).isZero();
+    }
+
+    @Test
+    void invalidate_WhenThereIsNoAuthentication_ThenDerivesAgain() {
+        fixture.get((Authentication) null);
+        fixture.invalidate(null);
+        fixture.get((Authentication) null);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void invalidate() {
+        fixture.get(user);
+        fixture.invalidate(user);
+        fixture.get(user);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void get_WhenAnAuthenticationIsUnreachable_ThenReleasesIt() throws InterruptedException {
+        var attribute = AuthenticationAttribute.of(Authentication::getName);
+        attribute.get(new TestingAuthenticationToken(UUID.randomUUID().toString(), null));
+        for (var i = 0; i < 100 && attribute.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(attribute.size()).isZero();
+    }
+
+}
@@ -0,0 +1,39 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class BatchAccessPolicyTest {
+
+    private interface TestIntent extends Intent {}
+
+    @Mock
+    private TestIntent intent;
+
+    @Mock
+    private AccessPolicy.Denial denial;
+
+    @Test
+    void apply() {
+        var accessPolicy = new BatchAccessPolicy<TestIntent>() {
+
+            @Override
+            public @NonNull List<Denial> applyAll(@NonNull List<? extends TestIntent> intents) {
+                assertThat(intents).isEqualTo(List.of(intent));
+                return List.of(denial);
+            }
+
+        };
+        assertThat(accessPolicy.apply(intent)).isEqualTo(denial);
+        assertThat(accessPolicy.getIntentType()).isEqualTo(TestIntent.class);
+    }
+
+}
@@ -0,0 +1,56 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class DecisionTest {
+
+    private interface TestIntent extends Intent {}
+
+    private final Object source = new Object();
+
+    @Mock
+    private TestIntent intent;
+
+    @Mock
+    private AccessPolicy.Denial denial;
+
+    @Test
+    void permitted() {
+        var decision = Decision.permitted(source, intent);
+        assertThat(decision.source()).isEqualTo(source);
+        assertThat(decision.intent()).isEqualTo(intent);
+        assertThat(decision.denial()).isNull();
+        assertThat(decision.isPermitted()).isTrue();
+    }
+
+    @Test
+    void denied() {
+        var decision = Decision.<TestIntent>denied(source, denial);
+        assertThat(decision.source()).isEqualTo(source);
+        assertThat(decision.intent()).isNull();
+        assertThat(decision.denial()).isEqualTo(denial);
+        assertThat(decision.isPermitted()).isFalse();
+    }
+
+    @Test
+    void new_WhenBothAreGiven_ThenThrows() {
+        assertThatThrownBy(() -> new Decision<>(source, intent, denial))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A decision needs exactly one of an intent and a denial.");
+    }
+
+    @Test
+    void new_WhenNeitherIsGiven_ThenThrows() {
+        assertThatThrownBy(() -> new Decision<TestIntent>(source, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A decision needs exactly one of an intent and a denial.");
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DenialExceptionTest {
+
+    @Test
+    void constructor() {
+        var fixture = new DenialException("Not found.");
+        assertThat(fixture).hasMessage("Not found.").hasNoCause();
+        assertThat(fixture.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void addSuppressed_IsIgnored() {
+        var fixture = new DenialException("Not found.");
+        fixture.addSuppressed(new RuntimeException());
+        assertThat(fixture.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void toDenial() {
+        var fixture = new DenialException("Not found.");
+        var denial = fixture.toDenial();
+        assertThat(denial.get()).isSameAs(fixture);
+        assertThat(fixture.toDenial()).isSameAs(denial);
+    }
+
+}
@@ -0,0 +1,36 @@
+package io.github.naomimyselfandi.staticpermissions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilteringAccessPolicyTest {
+
+    private interface TestIntent extends Intent {}
+
+    private interface TestFilter extends Predicate<Object> {}
+
+    @Test
+    void getFilterType() {
+        var accessPolicy = new FilteringAccessPolicy<TestIntent, TestFilter>() {
+
+            @Override
+            public Denial apply(@NonNull TestIntent intent) {
+                return null;
+            }
+
+            @Override
+            public TestFilter getFilter(@NonNull Authentication authentication) {
+                return null;
+            }
+
+        };
+        assertThat(accessPolicy.getIntentType()).isEqualTo(TestIntent.class);
+        assertThat(accessPolicy.getFilterType()).isEqualTo(TestFilter.class);
+    }
+
+}
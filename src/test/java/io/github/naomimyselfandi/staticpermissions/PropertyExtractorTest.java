@@ -2,6 +2,7 @@ package io.github.naomimyselfandi.staticpermissions;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.NonNull;
 
@@ -22,7 +23,7 @@ class PropertyExtractorTest {
         fixture = new PropertyExtractor<>() {
             @Override
             public Object extract(@NonNull TestIntent source, @NonNull Method method, @NonNull String propertyName) {
-                throw new UnsupportedOperationException();
+                return propertyName.equals("present") ? source : null;
             }
         };
     }
@@ -40,4 +41,13 @@ class PropertyExtractorTest {
         assertThat(fixture.getSupportedType()).isEqualTo(TestIntent.class);
     }
 
+
+    @Test
+    void isPresent() throws NoSuchMethodException {
+        var source = Mockito.mock(TestIntent.class);
+        var method = Object.class.getMethod("toString");
+        assertThat(fixture.isPresent(source, method, "present")).isTrue();
+        assertThat(fixture.isPresent(source, method, "absent")).isFalse();
+    }
+
 }
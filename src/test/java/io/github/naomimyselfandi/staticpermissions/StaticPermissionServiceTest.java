@@ -11,7 +11,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -30,10 +35,15 @@ class StaticPermissionServiceTest {
     @Mock
     private TestIntent intent;
 
+    @Mock
+    private AccessPolicy.Denial denial;
+
     private StaticPermissionService fixture;
 
     private boolean requireWasCalled;
 
+    private final Object filter = new Object();
+
     @BeforeEach
     void setup() {
         source = new Object();
@@ -60,11 +70,87 @@ class StaticPermissionServiceTest {
                 return Optional.of(type.cast(intent));
             }
 
+            @Override
+            public @NonNull Map<Class<? extends Intent>, Boolean> capabilities(
+                    @NonNull Object source,
+                    @NonNull Set<Class<? extends Intent>> types
+            ) {
+                if (failure != null) {
+                    throw failure;
+                }
+                assertThat(SecurityContextHolder.getContext().getAuthentication()).isEqualTo(authentication);
+                assertThat(source).isEqualTo(StaticPermissionServiceTest.this.source);
+                return Map.of(TestIntent.class, true);
+            }
+
+            @Override
+            public <I extends Intent> @NonNull List<I> requireAll(
+                    @NonNull Collection<?> sources,
+                    @NonNull Class<I> type
+            ) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <I extends Intent> @NonNull List<Decision<I>> decideAll(
+                    @NonNull Collection<?> sources,
+                    @NonNull Class<I> type
+            ) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <I extends Intent> @NonNull I refine(
+                    @NonNull Intent original,
+                    @NonNull Class<I> type,
+                    @NonNull Map<String, ?> additional
+            ) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <I extends Intent> @NonNull List<Authentication> audience(
+                    @NonNull Object source,
+                    @NonNull Class<I> type,
+                    @NonNull Collection<? extends Authentication> authentications
+            ) {
+                assertThat(source).isEqualTo(StaticPermissionServiceTest.this.source);
+                return authentications.stream().filter(it -> it == authentication).map(Authentication.class::cast).toList();
+            }
+
+            @Override
+            public <I extends Intent> @NonNull Stream<Decision<I>> partition(
+                    @NonNull Stream<?> sources,
+                    @NonNull Class<I> type
+            ) {
+                return sources.map(source -> source == StaticPermissionServiceTest.this.source
+                        ? Decision.permitted(source, type.cast(intent))
+                        : Decision.denied(source, denial));
+            }
+
+            @Override
+            public <F> @NonNull Optional<List<F>> getFilters(
+                    @NonNull Class<? extends Intent> type,
+                    @NonNull Class<F> filterType
+            ) {
+                if (failure != null) {
+                    throw failure;
+                }
+                assertThat(SecurityContextHolder.getContext().getAuthentication()).isEqualTo(authentication);
+                assertThat(type).isEqualTo(TestIntent.class);
+                return Optional.of(List.of(filterType.cast(filter)));
+            }
+
             @Override
             public @NonNull String normalizeMethodName(@NonNull Method method) {
                 throw new UnsupportedOperationException();
             }
 
+            @Override
+            public @NonNull Map<String, Method> getProperties(@NonNull Class<? extends Intent> type) {
+                throw new UnsupportedOperationException();
+            }
+
         };
         SecurityContextHolder.getContext().setAuthentication(originalAuthentication);
     }
@@ -99,4 +185,41 @@ class StaticPermissionServiceTest {
         assertThatThrownBy(() -> fixture.request(source, TestIntent.class, authentication)).isEqualTo(failure);
     }
 
+    @Test
+    void capabilities() {
+        assertThat(fixture.capabilities(source, Set.of(TestIntent.class), authentication))
+                .containsExactly(entry(TestIntent.class, true));
+    }
+
+    @Test
+    void capabilities_WhenTheCallFails_ThenStillResetsTheContext() {
+        failure = new RuntimeException();
+        assertThatThrownBy(() -> fixture.capabilities(source, Set.of(TestIntent.class), authentication))
+                .isEqualTo(failure);
+    }
+
+    @Test
+    void filter() {
+        assertThat(fixture.filter(Stream.of(new Object(), source, new Object()), TestIntent.class))
+                .containsExactly(intent);
+    }
+
+    @Test
+    void audience() {
+        var authentications = Stream.of(originalAuthentication, authentication);
+        assertThat(fixture.audience(source, TestIntent.class, authentications)).containsExactly(authentication);
+    }
+
+    @Test
+    void getFilters() {
+        assertThat(fixture.getFilters(TestIntent.class, Object.class, authentication)).contains(List.of(filter));
+    }
+
+    @Test
+    void getFilters_WhenTheCallFails_ThenStillResetsTheContext() {
+        failure = new RuntimeException();
+        assertThatThrownBy(() -> fixture.getFilters(TestIntent.class, Object.class, authentication))
+                .isEqualTo(failure);
+    }
+
 }
@@ -0,0 +1,78 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AttachmentsImplTest {
+
+    private String key;
+
+    private AttachmentsImpl fixture;
+
+    @BeforeEach
+    void setup() {
+        key = UUID.randomUUID().toString();
+        fixture = new AttachmentsImpl();
+    }
+
+    @Test
+    void computeIfAbsent() {
+        var value = UUID.randomUUID();
+        var calls = new AtomicInteger();
+        assertThat(fixture.computeIfAbsent(key, UUID.class, () -> {
+            calls.incrementAndGet();
+            return value;
+        })).isEqualTo(value);
+        assertThat(fixture.computeIfAbsent(key, UUID.class, () -> fail())).isEqualTo(value);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void computeIfAbsent_WhenTheLoaderAttachesSomethingElse_ThenAttachesBoth() {
+        var otherKey = UUID.randomUUID().toString();
+        assertThat(fixture.computeIfAbsent(key, String.class, () -> {
+            return fixture.computeIfAbsent(otherKey, String.class, () -> "inner") + "outer";
+        })).isEqualTo("innerouter");
+        assertThat(fixture.get(otherKey, String.class)).contains("inner");
+        assertThat(fixture.get(key, String.class)).contains("innerouter");
+    }
+
+    @Test
+    void computeIfAbsent_WhenTheLoaderReturnsNull_ThenAttachesNothing() {
+        assertThat(fixture.computeIfAbsent(key, Object.class, () -> null)).isNull();
+        assertThat(fixture.get(key, Object.class)).isEmpty();
+    }
+
+    @Test
+    void computeIfAbsent_WhenTheTypeIsWrong_ThenThrows() {
+        fixture.computeIfAbsent(key, Object.class, UUID::randomUUID);
+        assertThatThrownBy(() -> fixture.computeIfAbsent(key, String.class, () -> fail()))
+                .isInstanceOf(ClassCastException.class);
+    }
+
+    @Test
+    void get() {
+        assertThat(fixture.get(key, Object.class)).isEmpty();
+        var value = UUID.randomUUID();
+        fixture.computeIfAbsent(key, UUID.class, () -> value);
+        assertThat(fixture.get(key, UUID.class)).contains(value);
+    }
+
+    @Test
+    void get_WhenTheTypeIsWrong_ThenThrows() {
+        fixture.computeIfAbsent(key, Object.class, UUID::randomUUID);
+        assertThatThrownBy(() -> fixture.get(key, String.class)).isInstanceOf(ClassCastException.class);
+    }
+
+    @Test
+    void testToString() {
+        fixture.computeIfAbsent(key, Object.class, Object::new);
+        assertThat(fixture).hasToString("Attachments[%s]", key);
+    }
+
+}
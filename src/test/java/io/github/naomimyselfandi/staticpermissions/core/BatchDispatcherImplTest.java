@@ -0,0 +1,193 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.BatchAccessPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class BatchDispatcherImplTest {
+
+    private static class TestPolicy implements BatchAccessPolicy<String> {
+
+        final List<List<String>> batches = new ArrayList<>();
+        Duration window = Duration.ZERO;
+        int maxBatchSize = 100;
+        Function<List<? extends String>, List<AccessPolicy.Denial>> decider = intents -> Arrays.asList(
+                intents.stream().map(intent -> intent.startsWith("x") ? DENIAL : null).toArray(AccessPolicy.Denial[]::new)
+        );
+
+        @Override
+        public synchronized @NonNull List<Denial> applyAll(@NonNull List<? extends String> intents) {
+            batches.add(List.copyOf(intents));
+            return decider.apply(intents);
+        }
+
+        @Override
+        public @NonNull Duration getBatchWindow() {
+            return window;
+        }
+
+        @Override
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+    }
+
+    private static final AccessPolicy.Denial DENIAL = RuntimeException::new;
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private ScheduledExecutorService scheduler;
+
+    private TestPolicy policy;
+
+    private BatchDispatcherImpl fixture;
+
+    @BeforeEach
+    void setup() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        policy = new TestPolicy();
+        fixture = new BatchDispatcherImpl(scheduler);
+    }
+
+    @AfterEach
+    void teardown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void apply_WhenTheWindowIsZero_ThenAppliesThePolicyImmediately() {
+        assertThat(fixture.apply(policy, "a")).isNull();
+        assertThat(fixture.apply(policy, "x")).isEqualTo(DENIAL);
+        assertThat(policy.batches).containsExactly(List.of("a"), List.of("x"));
+    }
+
+    @Test
+    void apply_WhenTheWindowElapses_ThenChecksTheWaitingIntents() {
+        policy.window = Duration.ofMillis(10);
+        assertThat(fixture.apply(policy, "x")).isEqualTo(DENIAL);
+        assertThat(policy.batches).containsExactly(List.of("x"));
+    }
+
+    @Test
+    void apply_WhenTheBatchIsFull_ThenChecksTheWaitingIntentsTogether() {
+        policy.window = Duration.ofMinutes(1);
+        policy.maxBatchSize = 3;
+        var a = CompletableFuture.supplyAsync(() -> fixture.apply(policy, "a"));
+        var b = CompletableFuture.supplyAsync(() -> fixture.apply(policy, "x"));
+        var c = CompletableFuture.supplyAsync(() -> fixture.apply(policy, "c"));
+        assertThat(a.join()).isNull();
+        assertThat(b.join()).isEqualTo(DENIAL);
+        assertThat(c.join()).isNull();
+        assertThat(policy.batches).singleElement().satisfies(batch -> {
+            assertThat(batch).containsExactlyInAnyOrder("a", "x", "c");
+        });
+    }
+
+    @Test
+    void apply_WhenThePolicyFails_ThenThrows() {
+        var exception = new IllegalStateException();
+        policy.window = Duration.ofMillis(10);
+        policy.decider = intents -> {
+            throw exception;
+        };
+        assertThatThrownBy(() -> fixture.apply(policy, "a")).isEqualTo(exception);
+    }
+
+    @Test
+    void apply_WhenThePolicyReturnsTheWrongNumberOfResults_ThenThrows() {
+        policy.window = Duration.ofMillis(10);
+        policy.decider = intents -> List.of();
+        assertThatThrownBy(() -> fixture.apply(policy, "a"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("%s returned 0 results for 1 intents.", policy);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_WhenAStaleTimerFires_ThenDoesNotFlushTheNextBatch() {
+        var timers = new CopyOnWriteArrayList<Runnable>();
+        var futures = new CopyOnWriteArrayList<ScheduledFuture<?>>();
+        var mockScheduler = mock(ScheduledExecutorService.class);
+        when(mockScheduler.schedule(any(Runnable.class), anyLong(), any())).then(invocation -> {
+            timers.add(invocation.getArgument(0));
+            var future = mock(ScheduledFuture.class);
+            futures.add(future);
+            return future;
+        });
+        fixture = new BatchDispatcherImpl(mockScheduler);
+        policy.window = Duration.ofMinutes(1);
+        policy.maxBatchSize = 2;
+        var a = CompletableFuture.supplyAsync(() -> fixture.apply(policy, "a"));
+        await(() -> timers.size() == 1);
+        assertThat(fixture.apply(policy, "b")).isNull();
+        assertThat(a.join()).isNull();
+        verify(futures.get(0)).cancel(false);
+        var c = CompletableFuture.supplyAsync(() -> fixture.apply(policy, "c"));
+        await(() -> timers.size() == 2);
+        timers.get(0).run();
+        assertThat(c).isNotDone();
+        timers.get(1).run();
+        assertThat(c.join()).isNull();
+        assertThat(policy.batches).containsExactly(List.of("a", "b"), List.of("c"));
+    }
+
+    @Test
+    void apply_WhenTheTimerIsRejected_ThenChecksTheIntentImmediately() {
+        var mockScheduler = mock(ScheduledExecutorService.class);
+        when(mockScheduler.schedule(any(Runnable.class), anyLong(), any())).thenThrow(RejectedExecutionException.class);
+        fixture = new BatchDispatcherImpl(mockScheduler);
+        policy.window = Duration.ofMinutes(1);
+        assertThat(fixture.apply(policy, "x")).isEqualTo(DENIAL);
+        assertThat(policy.batches).containsExactly(List.of("x"));
+    }
+
+    @Test
+    @Timeout(10)
+    void apply_WhenABatchMakesAnotherBatchedCheck_ThenAppliesItDirectly() {
+        var inner = new TestPolicy();
+        inner.window = Duration.ofMinutes(1);
+        policy.window = Duration.ofMillis(10);
+        policy.decider = intents -> intents.stream().map(intent -> fixture.apply(inner, intent)).toList();
+        assertThat(fixture.apply(policy, "x")).isEqualTo(DENIAL);
+        assertThat(inner.batches).containsExactly(List.of("x"));
+    }
+
+    @Test
+    void apply_WhenShutDown_ThenAppliesThePolicyImmediately() {
+        policy.window = Duration.ofMinutes(1);
+        fixture.shutdown();
+        assertThat(fixture.apply(policy, "x")).isEqualTo(DENIAL);
+        assertThat(policy.batches).containsExactly(List.of("x"));
+    }
+
+}
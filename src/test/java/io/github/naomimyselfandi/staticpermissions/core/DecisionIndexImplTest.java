@@ -0,0 +1,224 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.PermissionIndexDefinition;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DecisionIndexImplTest {
+
+    private interface Indexed extends Intent {
+        int ordinal();
+    }
+
+    private interface NotIndexed extends Intent {}
+
+    private static class Definition implements PermissionIndexDefinition<Indexed> {
+
+        final List<Object> sources = new ArrayList<>();
+        long memoryBudget = 1 << 20;
+
+        @Override
+        public int getOrdinal(Indexed intent) {
+            return intent.ordinal();
+        }
+
+        @Override
+        public Iterable<?> getSources() {
+            return sources;
+        }
+
+        @Override
+        public long getMemoryBudget() {
+            return memoryBudget;
+        }
+
+    }
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private List<Runnable> tasks;
+
+    private Definition definition;
+
+    private Authentication alice, bob;
+
+    private DecisionIndexImpl fixture;
+
+    @BeforeEach
+    void setup() {
+        tasks = new ArrayList<>();
+        definition = new Definition();
+        alice = new TestingAuthenticationToken("alice", null);
+        bob = new TestingAuthenticationToken("bob", null);
+        fixture = new DecisionIndexImpl(List.of(definition), () -> staticPermissionService, tasks::add);
+    }
+
+    @Test
+    void lookup() {
+        var lookup = Objects.requireNonNull(fixture.lookup(intent(alice, 100), Indexed.class));
+        assertThat(lookup.isPermitted()).isFalse();
+        lookup.record(true);
+        assertThat(lookup.isPermitted()).isTrue();
+        assertThat(fixture.lookup(intent(alice, 100), Indexed.class)).matches(DecisionIndex.Lookup::isPermitted);
+        assertThat(fixture.lookup(intent(alice, 99), Indexed.class)).matches(it -> !it.isPermitted());
+        assertThat(fixture.lookup(intent(bob, 100), Indexed.class)).matches(it -> !it.isPermitted());
+        lookup.record(false);
+        assertThat(fixture.lookup(intent(alice, 100), Indexed.class)).matches(it -> !it.isPermitted());
+    }
+
+    @Test
+    void lookup_WhenTheTypeIsNotIndexed_ThenReturnsNull() {
+        var intent = mock(NotIndexed.class);
+        assertThat(fixture.lookup(intent, NotIndexed.class)).isNull();
+    }
+
+    @Test
+    void lookup_WhenTheOrdinalIsNegative_ThenReturnsNull() {
+        assertThat(fixture.lookup(intent(alice, -1), Indexed.class)).isNull();
+    }
+
+    @Test
+    void lookup_WhenThereIsNoAuthentication_ThenReturnsNull() {
+        assertThat(fixture.lookup(intent(null, 1), Indexed.class)).isNull();
+    }
+
+    @Test
+    void lookup_WhenAPrincipalIsFirstSeen_ThenBuildsInTheBackground() {
+        var foo = new Object();
+        var bar = new Object();
+        definition.sources.addAll(List.of(foo, bar));
+        when(staticPermissionService.request(foo, Indexed.class, alice)).thenThrow(RuntimeException.class);
+        fixture.lookup(intent(alice, 1), Indexed.class);
+        fixture.lookup(intent(alice, 2), Indexed.class);
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+        verify(staticPermissionService).request(bar, Indexed.class, alice);
+    }
+
+    @Test
+    void lookup_WhenThePrincipalIsInvalidatedDuringABuild_ThenStops() {
+        definition.sources.addAll(List.of(new Object(), new Object()));
+        fixture.lookup(intent(alice, 1), Indexed.class);
+        when(staticPermissionService.request(any(), eq(Indexed.class), eq(alice))).then(invocation -> {
+            fixture.invalidatePrincipal(Indexed.class, "alice");
+            return null;
+        });
+        tasks.get(0).run();
+        verify(staticPermissionService, times(1)).request(any(), eq(Indexed.class), eq(alice));
+    }
+
+    @Test
+    void lookup_WhenABuildIsRunning_ThenPublishesItsBitsWhenItEnds() {
+        var foo = new Object();
+        var bar = new Object();
+        definition.sources.addAll(List.of(foo, bar));
+        permit(alice, 1);
+        when(staticPermissionService.request(foo, Indexed.class, alice)).then(invocation -> {
+            permit(alice, 2);
+            fixture.invalidate(Indexed.class, 1);
+            return null;
+        });
+        when(staticPermissionService.request(bar, Indexed.class, alice)).then(invocation -> {
+            assertThat(isPermitted(alice, 1)).isFalse();
+            assertThat(isPermitted(alice, 2)).isFalse();
+            permit(alice, 64 * 10);
+            return null;
+        });
+        tasks.get(0).run();
+        assertThat(isPermitted(alice, 1)).isFalse();
+        assertThat(isPermitted(alice, 2)).isTrue();
+        assertThat(isPermitted(alice, 64 * 10)).isTrue();
+    }
+
+    @Test
+    void lookup_WhenTheExecutorIsShutDown_ThenStillReturnsALookup() {
+        var executor = Executors.newSingleThreadExecutor();
+        fixture = new DecisionIndexImpl(List.of(definition), () -> staticPermissionService, executor);
+        fixture.shutdown();
+        assertThat(executor.isShutdown()).isTrue();
+        permit(alice, 1);
+        assertThat(isPermitted(alice, 1)).isTrue();
+    }
+
+    @Test
+    void invalidate() {
+        permit(alice, 1);
+        permit(bob, 1);
+        permit(bob, 2);
+        fixture.invalidate(Indexed.class, 1);
+        assertThat(isPermitted(alice, 1)).isFalse();
+        assertThat(isPermitted(bob, 1)).isFalse();
+        assertThat(isPermitted(bob, 2)).isTrue();
+    }
+
+    @Test
+    void invalidatePrincipal() {
+        permit(alice, 1);
+        permit(bob, 1);
+        fixture.invalidatePrincipal(Indexed.class, "alice");
+        assertThat(isPermitted(alice, 1)).isFalse();
+        assertThat(isPermitted(bob, 1)).isTrue();
+    }
+
+    @Test
+    void invalidateAll() {
+        permit(alice, 1);
+        permit(bob, 2);
+        fixture.invalidateAll(Indexed.class);
+        assertThat(isPermitted(alice, 1)).isFalse();
+        assertThat(isPermitted(bob, 2)).isFalse();
+    }
+
+    @Test
+    void record_WhenTheIndexWasInvalidatedDuringEvaluation_ThenDiscardsTheDecision() {
+        var lookup = Objects.requireNonNull(fixture.lookup(intent(alice, 1), Indexed.class));
+        fixture.invalidate(Indexed.class, 1);
+        lookup.record(true);
+        assertThat(isPermitted(alice, 1)).isFalse();
+    }
+
+    @Test
+    void record_WhenTheMemoryBudgetIsExceeded_ThenEvictsTheLeastRecentlyUsedPrincipal() {
+        definition.memoryBudget = 2000;
+        permit(alice, 1);
+        permit(bob, 1);
+        permit(alice, 2);
+        permit(bob, 64 * 230);
+        assertThat(isPermitted(bob, 64 * 230)).isTrue();
+        assertThat(isPermitted(alice, 1)).isFalse();
+    }
+
+    private void permit(Authentication authentication, int ordinal) {
+        Objects.requireNonNull(fixture.lookup(intent(authentication, ordinal), Indexed.class)).record(true);
+    }
+
+    private boolean isPermitted(Authentication authentication, int ordinal) {
+        return Objects.requireNonNull(fixture.lookup(intent(authentication, ordinal), Indexed.class)).isPermitted();
+    }
+
+    private Indexed intent(Authentication authentication, int ordinal) {
+        var intent = mock(Indexed.class);
+        lenient().when(intent.ordinal()).thenReturn(ordinal);
+        lenient().when(intent.__auth__()).thenReturn(authentication);
+        return intent;
+    }
+
+}
@@ -0,0 +1,40 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtractionExceptionTest {
+
+    @Test
+    void getMessage() {
+        var fixture = new ExtractionException("Couldn't find '%s' in %s.", "foo", "bar");
+        assertThat(fixture).hasMessage("Couldn't find 'foo' in bar.");
+    }
+
+    @Test
+    void getMessage_IsBuiltLazilyAndOnlyOnce() {
+        var count = new AtomicInteger();
+        var source = new Object() {
+            @Override
+            public String toString() {
+                return "source" + count.incrementAndGet();
+            }
+        };
+        var fixture = new ExtractionException("Couldn't find '%s' in %s.", "foo", source);
+        assertThat(count).hasValue(0);
+        assertThat(fixture).hasMessage("Couldn't find 'foo' in source1.");
+        assertThat(fixture).hasMessage("Couldn't find 'foo' in source1.");
+    }
+
+    @Test
+    void getMessage_WhenTheSourceIsLarge_ThenTruncatesIt() {
+        var source = "x".repeat(ExtractionException.MAX_SOURCE_LENGTH + 1);
+        var fixture = new ExtractionException("Couldn't find '%s' in %s.", "foo", source);
+        var expected = "x".repeat(ExtractionException.MAX_SOURCE_LENGTH) + "...";
+        assertThat(fixture).hasMessage("Couldn't find 'foo' in %s.", expected);
+    }
+
+}
@@ -0,0 +1,117 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter.ConvertiblePair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IntentCollectionConverterTest {
+
+    private interface Source {}
+
+    private interface Target extends Intent {}
+
+    private static final TypeDescriptor SOURCE_LIST = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Source.class));
+    private static final TypeDescriptor SOURCE_ARRAY = TypeDescriptor.valueOf(Source[].class);
+    private static final TypeDescriptor TARGET_LIST = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Target.class));
+    private static final TypeDescriptor TARGET_SET = TypeDescriptor.collection(Set.class, TypeDescriptor.valueOf(Target.class));
+    private static final TypeDescriptor TARGET_ARRAY = TypeDescriptor.valueOf(Target[].class);
+
+    @Mock
+    private Source source1, source2;
+
+    @Mock
+    private Target intent1, intent2;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    @InjectMocks
+    private IntentCollectionConverter fixture;
+
+    @Test
+    void getConvertibleTypes() {
+        assertThat(fixture.getConvertibleTypes()).containsExactlyInAnyOrder(
+                new ConvertiblePair(Collection.class, Collection.class),
+                new ConvertiblePair(Collection.class, Object[].class),
+                new ConvertiblePair(Object[].class, Collection.class),
+                new ConvertiblePair(Object[].class, Object[].class)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void matches(boolean valid) {
+        when(staticPermissionService.isSourceFor(Source.class, Target.class)).thenReturn(valid);
+        assertThat(fixture.matches(SOURCE_LIST, TARGET_LIST)).isEqualTo(valid);
+    }
+
+    @Test
+    void matches_WhenTheSourceElementTypeIsUnknown_ThenTrue() {
+        assertThat(fixture.matches(TypeDescriptor.valueOf(List.class), TARGET_ARRAY)).isTrue();
+    }
+
+    @Test
+    void matches_WhenTheTargetElementTypeIsNotAnIntentType_ThenFalse() {
+        var target = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class));
+        assertThat(fixture.matches(SOURCE_LIST, target)).isFalse();
+        assertThat(fixture.matches(SOURCE_LIST, TypeDescriptor.valueOf(List.class))).isFalse();
+    }
+
+    @Test
+    void convert_ToList() {
+        when(staticPermissionService.requireAll(List.of(source1, source2), Target.class))
+                .thenReturn(List.of(intent1, intent2));
+        assertThat(fixture.convert(List.of(source1, source2), SOURCE_LIST, TARGET_LIST))
+                .isEqualTo(List.of(intent1, intent2));
+    }
+
+    @Test
+    void convert_ToSet() {
+        when(staticPermissionService.requireAll(List.of(source1, source2), Target.class))
+                .thenReturn(List.of(intent1, intent2));
+        assertThat(fixture.convert(List.of(source1, source2), SOURCE_LIST, TARGET_SET))
+                .isEqualTo(Set.of(intent1, intent2));
+    }
+
+    @Test
+    void convert_ToArray() {
+        when(staticPermissionService.requireAll(List.of(source1, source2), Target.class))
+                .thenReturn(List.of(intent1, intent2));
+        assertThat(fixture.convert(new Source[]{source1, source2}, SOURCE_ARRAY, TARGET_ARRAY))
+                .isInstanceOf(Target[].class)
+                .isEqualTo(new Target[]{intent1, intent2});
+    }
+
+    @Test
+    void convert_WhenAnElementIsNull_ThenKeepsIt() {
+        when(staticPermissionService.requireAll(List.of(source1, source2), Target.class))
+                .thenReturn(List.of(intent1, intent2));
+        var source = new ArrayList<>(Arrays.asList(source1, null, source2));
+        assertThat(fixture.convert(source, SOURCE_LIST, TARGET_LIST))
+                .isEqualTo(Arrays.asList(intent1, null, intent2));
+    }
+
+    @Test
+    void convert_WhenTheSourceIsNull_ThenNull() {
+        assertThat(fixture.convert(null, SOURCE_LIST, TARGET_LIST)).isNull();
+    }
+
+}
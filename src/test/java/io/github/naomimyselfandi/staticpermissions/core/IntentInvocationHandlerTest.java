@@ -9,9 +9,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,6 +46,22 @@ class IntentInvocationHandlerTest {
             return DEFAULT_2;
         }
 
+        @Intent.Memoized
+        default Object memoizedOptionalProperty() {
+            return new Object();
+        }
+
+        @Intent.Memoized
+        @Intent.NotProperty
+        default Object memoizedValue() {
+            return new Object();
+        }
+
+        @Intent.NotProperty
+        default Object unmemoizedValue() {
+            return new Object();
+        }
+
     }
 
     private interface AnotherIntent extends Intent {}
@@ -74,6 +93,7 @@ class IntentInvocationHandlerTest {
                         case TO_STRING -> name.equals("toString");
                         case AUTHENTICATION -> name.equals("__auth__");
                         case DATA_MAP -> name.equals("__data__");
+                        case ATTACHMENTS -> name.equals("__attachments__");
                         case REQUIRED_PROPERTY -> name.toLowerCase().contains("required");
                         case OPTIONAL_PROPERTY -> name.toLowerCase().contains("optional");
                         case NON_PROPERTY -> true;
@@ -165,4 +185,93 @@ class IntentInvocationHandlerTest {
         assertThat(fixture.get().__data__()).isEqualTo(values).isUnmodifiable();
     }
 
+    @Test
+    void get() {
+        var proxy = fixture.get();
+        var other = new IntentInvocationHandler<>(TestIntent.class, Map.of(), user, namingConvention, methodRoleHelper);
+        assertThat(Proxy.getInvocationHandler(proxy)).isSameAs(fixture);
+        assertThat(fixture.get()).isNotSameAs(proxy);
+        assertThat(other.get().getClass()).isSameAs(proxy.getClass());
+        assertThat(proxy.requiredProperty()).isEqualTo(requiredPropertyValue);
+    }
+
+    @Test
+    void invoke_Attachments() {
+        var proxy = fixture.get();
+        var attachment = new Object();
+        proxy.__attachments__().computeIfAbsent("foo", Object.class, () -> attachment);
+        assertThat(proxy.__attachments__()).isSameAs(Intent.getAttachments(proxy));
+        assertThat(proxy.__attachments__().get("foo", Object.class)).containsSame(attachment);
+    }
+
+    @Test
+    void invoke_Attachments_WhenCreatedLazily_ThenCreatesThemOnce() {
+        assertThat(fixture.get().__attachments__()).isSameAs(fixture.get().__attachments__());
+    }
+
+    @Test
+    void invoke_Attachments_WhenShared_ThenUsesTheSharedAttachments() {
+        var other = new IntentInvocationHandler<>(
+                AnotherIntent.class,
+                Map.of(),
+                user,
+                namingConvention,
+                methodRoleHelper,
+                fixture.getAttachments()
+        );
+        assertThat(other.get().__attachments__()).isSameAs(fixture.get().__attachments__());
+    }
+
+    @Test
+    void invoke_Memoized() {
+        var proxy = fixture.get();
+        assertThat(proxy.memoizedValue()).isNotNull().isSameAs(proxy.memoizedValue()).isSameAs(fixture.get().memoizedValue());
+        assertThat(proxy.memoizedOptionalProperty()).isNotNull().isSameAs(proxy.memoizedOptionalProperty());
+        assertThat(proxy.unmemoizedValue()).isNotSameAs(proxy.unmemoizedValue());
+        var other = new IntentInvocationHandler<>(TestIntent.class, values, user, namingConvention, methodRoleHelper);
+        assertThat(other.get().memoizedValue()).isNotSameAs(proxy.memoizedValue());
+        assertThat(other.get()).isEqualTo(proxy).hasSameHashCodeAs(proxy);
+    }
+
+    @Test
+    void invoke_LazyProperty() {
+        var extractions = new AtomicInteger();
+        var source = new Object();
+        var lazyValues = new HashMap<>(values);
+        lazyValues.put("requiredProperty", new LazyValue(source, "requiredProperty", () -> {
+            extractions.incrementAndGet();
+            return requiredPropertyValue;
+        }));
+        lazyValues.put("optionalPropertyWithOverriddenDefault", new LazyValue(source, "optional", () -> null));
+        var lazy = new IntentInvocationHandler<>(TestIntent.class, lazyValues, user, namingConvention, methodRoleHelper);
+        var proxy = lazy.get();
+        var same = new IntentInvocationHandler<>(TestIntent.class, lazyValues, user, namingConvention, methodRoleHelper);
+        assertThat(lazy).isEqualTo(same).hasSameHashCodeAs(same);
+        assertThat(lazy.toString()).contains("(not loaded)");
+        assertThat(extractions).hasValue(0);
+        assertThat(proxy.requiredProperty()).isEqualTo(requiredPropertyValue);
+        assertThat(proxy.requiredProperty()).isEqualTo(requiredPropertyValue);
+        assertThat(extractions).hasValue(1);
+        assertThat(proxy.__data__()).doesNotContainValue(null).containsEntry("requiredProperty", requiredPropertyValue);
+    }
+
+    @Test
+    void of() {
+        var proxy = fixture.get();
+        assertThat(IntentInvocationHandler.of(proxy)).containsSame(fixture);
+        assertThat(proxy.__auth__()).isSameAs(fixture.getAuthentication());
+        assertThat(proxy.__data__()).isEqualTo(fixture.getValues());
+        assertThat(fixture.getType()).isEqualTo(TestIntent.class);
+        var other = Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Runnable.class}, (p, m, a) -> null);
+        assertThat(IntentInvocationHandler.of(other)).isEmpty();
+        assertThat(IntentInvocationHandler.of(new Object())).isEmpty();
+    }
+
+    @Test
+    void invoke_Equals_IgnoresAttachments() {
+        var other = new IntentInvocationHandler<>(TestIntent.class, values, user, namingConvention, methodRoleHelper);
+        fixture.get().__attachments__().computeIfAbsent("foo", Object.class, Object::new);
+        assertThat(fixture.get()).isEqualTo(other.get()).hasSameHashCodeAs(other.get());
+    }
+
 }
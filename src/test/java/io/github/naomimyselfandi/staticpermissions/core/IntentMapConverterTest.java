@@ -0,0 +1,131 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter.ConvertiblePair;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IntentMapConverterTest {
+
+    private interface Source {}
+
+    private interface Target extends Intent {}
+
+    private static final TypeDescriptor STRING = TypeDescriptor.valueOf(String.class);
+    private static final TypeDescriptor INTEGER = TypeDescriptor.valueOf(Integer.class);
+    private static final TypeDescriptor SOURCE_MAP = TypeDescriptor.map(Map.class, TypeDescriptor.valueOf(Source.class), STRING);
+    private static final TypeDescriptor TARGET_MAP = TypeDescriptor.map(Map.class, TypeDescriptor.valueOf(Target.class), INTEGER);
+
+    @Mock
+    private Source source1, source2;
+
+    @Mock
+    private Target intent1, intent2;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    @Mock
+    private ConversionService conversionService;
+
+    private IntentMapConverter fixture;
+
+    @BeforeEach
+    void setup() {
+        fixture = new IntentMapConverter(staticPermissionService, conversionService);
+    }
+
+    @Test
+    void getConvertibleTypes() {
+        assertThat(fixture.getConvertibleTypes()).containsExactly(new ConvertiblePair(Map.class, Map.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void matches(boolean valid) {
+        when(staticPermissionService.isSourceFor(Source.class, Target.class)).thenReturn(valid);
+        lenient().when(conversionService.canConvert(STRING, INTEGER)).thenReturn(true);
+        assertThat(fixture.matches(SOURCE_MAP, TARGET_MAP)).isEqualTo(valid);
+    }
+
+    @Test
+    void matches_WhenTheValuesCannotBeConverted_ThenFalse() {
+        when(staticPermissionService.isSourceFor(Source.class, Target.class)).thenReturn(true);
+        when(conversionService.canConvert(STRING, INTEGER)).thenReturn(false);
+        assertThat(fixture.matches(SOURCE_MAP, TARGET_MAP)).isFalse();
+    }
+
+    @Test
+    void matches_WhenTheSourceTypesAreUnknown_ThenTrue() {
+        assertThat(fixture.matches(TypeDescriptor.valueOf(Map.class), TARGET_MAP)).isTrue();
+    }
+
+    @Test
+    void matches_WhenTheTargetKeyTypeIsNotAnIntentType_ThenFalse() {
+        var target = TypeDescriptor.map(Map.class, STRING, INTEGER);
+        assertThat(fixture.matches(SOURCE_MAP, target)).isFalse();
+        assertThat(fixture.matches(SOURCE_MAP, TypeDescriptor.valueOf(Map.class))).isFalse();
+    }
+
+    @Test
+    void convert() {
+        var source = new LinkedHashMap<Object, Object>();
+        source.put(source1, "1");
+        source.put(source2, "2");
+        source.put(null, "3");
+        when(staticPermissionService.requireAll(List.of(source1, source2), Target.class))
+                .thenReturn(List.of(intent1, intent2));
+        when(conversionService.convert(any(), eq(STRING), eq(INTEGER)))
+                .then(invocation -> Integer.valueOf(invocation.getArgument(0)));
+        var expected = new HashMap<Target, Integer>();
+        expected.put(intent1, 1);
+        expected.put(intent2, 2);
+        expected.put(null, 3);
+        assertThat(fixture.convert(source, SOURCE_MAP, TARGET_MAP)).isEqualTo(expected);
+    }
+
+    @Test
+    void convert_WhenKeysConvertToTheSameIntent_ThenThrows() {
+        var source = new LinkedHashMap<Object, Object>();
+        source.put(source1, "1");
+        source.put(source2, "2");
+        when(staticPermissionService.requireAll(List.of(source1, source2), Target.class))
+                .thenReturn(List.of(intent1, intent1));
+        when(conversionService.convert(any(), eq(STRING), eq(INTEGER)))
+                .then(invocation -> Integer.valueOf(invocation.getArgument(0)));
+        assertThatThrownBy(() -> fixture.convert(source, SOURCE_MAP, TARGET_MAP))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("More than one key converts to %s.", intent1);
+    }
+
+    @Test
+    void convert_WhenTheValueTypeIsUnknown_ThenCopiesTheValues() {
+        var value = new Object();
+        when(staticPermissionService.requireAll(List.of(source1), Target.class)).thenReturn(List.of(intent1));
+        var target = TypeDescriptor.map(Map.class, TypeDescriptor.valueOf(Target.class), null);
+        assertThat(fixture.convert(Map.of(source1, value), TypeDescriptor.valueOf(Map.class), target))
+                .isEqualTo(Map.of(intent1, value));
+        verifyNoInteractions(conversionService);
+    }
+
+    @Test
+    void convert_Null() {
+        assertThat(fixture.convert(null, SOURCE_MAP, TARGET_MAP)).isNull();
+    }
+
+}
@@ -0,0 +1,215 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class IntentTokenCodecImplTest {
+
+    private static final Clock NOW = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private interface Transfer extends Intent {
+        UUID getAccount();
+        int getAmount();
+        Optional<String> getMemo();
+    }
+
+    private interface Tagging extends Intent {
+        List<String> getTags();
+    }
+
+    private interface Withdrawal extends Intent {
+        UUID getAccount();
+        int getAmount();
+    }
+
+    private final SecretKey key = new SecretKeySpec(new byte[32], "HmacSHA256");
+
+    private final TestingAuthenticationToken alice = new TestingAuthenticationToken("alice", null);
+
+    private final UUID account = UUID.randomUUID();
+
+    @Mock
+    private Intent notCreatedByThisLibrary;
+
+    private NamingConvention namingConvention;
+
+    private MethodRoleHelper methodRoleHelper;
+
+    private ConversionService conversionService;
+
+    private ExtractorFactory extractorFactory;
+
+    private IntentTokenCodecImpl fixture;
+
+    @BeforeEach
+    void setup() {
+        namingConvention = new NamingConventionImpl();
+        methodRoleHelper = new MethodRoleHelperImpl();
+        conversionService = new DefaultConversionService();
+        var propertyExtractorRegistry = new PropertyExtractorRegistryImpl(
+                List.of(new MapPropertyExtractor(conversionService)),
+                conversionService,
+                namingConvention
+        );
+        extractorFactory = new ExtractorFactoryImpl(
+                namingConvention,
+                conversionService,
+                methodRoleHelper,
+                propertyExtractorRegistry
+        );
+        fixture = codec(NOW);
+        SecurityContextHolder.getContext().setAuthentication(alice);
+    }
+
+    @AfterEach
+    void teardown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void decode() {
+        var intent = transfer(Optional.of("rent"));
+        var decoded = fixture.decode(fixture.encode(intent, Duration.ofMinutes(5), key), Transfer.class, key);
+        assertThat(decoded).isEqualTo(intent);
+        assertThat(decoded.getAccount()).isEqualTo(account);
+        assertThat(decoded.getAmount()).isEqualTo(42);
+        assertThat(decoded.getMemo()).contains("rent");
+        assertThat(Intent.getAuthentication(decoded)).isSameAs(alice);
+    }
+
+    @Test
+    void decode_WhenAnOptionalPropertyIsEmpty_ThenOmitsIt() {
+        var intent = transfer(Optional.empty());
+        var decoded = fixture.decode(fixture.encode(intent, Duration.ofMinutes(5), key), Transfer.class, key);
+        assertThat(decoded.getMemo()).isEmpty();
+    }
+
+    @Test
+    void decode_ThenLeavesTheBufferUnchanged() {
+        var token = fixture.encode(transfer(Optional.empty()), Duration.ofMinutes(5), key);
+        var padded = ByteBuffer.allocateDirect(token.remaining() + 3);
+        padded.position(3).put(token).position(3);
+        fixture.decode(padded, Transfer.class, key);
+        assertThat(padded.position()).isEqualTo(3);
+        assertThat(padded.remaining()).isEqualTo(token.capacity());
+    }
+
+    @Test
+    void decode_WhenTheTokenWasTamperedWith_ThenThrows() {
+        var token = fixture.encode(transfer(Optional.empty()), Duration.ofMinutes(5), key);
+        token.put(20, (byte) (token.get(20) ^ 1));
+        assertThatThrownBy(() -> fixture.decode(token, Transfer.class, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The intent token is invalid.");
+    }
+
+    @Test
+    void decode_WhenTheKeyIsWrong_ThenThrows() {
+        var token = fixture.encode(transfer(Optional.empty()), Duration.ofMinutes(5), key);
+        var otherKey = new SecretKeySpec(new byte[]{1}, "HmacSHA256");
+        assertThatThrownBy(() -> fixture.decode(token, Transfer.class, otherKey))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The intent token is invalid.");
+    }
+
+    @Test
+    void decode_WhenTheTokenIsTooShort_ThenThrows() {
+        assertThatThrownBy(() -> fixture.decode(ByteBuffer.allocate(8), Transfer.class, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The intent token is invalid.");
+    }
+
+    @Test
+    void decode_WhenTheTokenHasExpired_ThenThrows() {
+        var token = fixture.encode(transfer(Optional.empty()), Duration.ofMinutes(5), key);
+        fixture = codec(Clock.offset(NOW, Duration.ofMinutes(5)));
+        assertThatThrownBy(() -> fixture.decode(token, Transfer.class, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The intent token has expired.");
+    }
+
+    @Test
+    void decode_WhenTheTypeIsWrong_ThenThrows() {
+        var token = fixture.encode(transfer(Optional.empty()), Duration.ofMinutes(5), key);
+        assertThatThrownBy(() -> fixture.decode(token, Withdrawal.class, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The intent token is for %s, not %s.", Transfer.class.getName(), Withdrawal.class.getName());
+    }
+
+    @Test
+    void decode_WhenTheUserIsDifferent_ThenThrows() {
+        var token = fixture.encode(transfer(Optional.empty()), Duration.ofMinutes(5), key);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", null));
+        assertThatThrownBy(() -> fixture.decode(token, Transfer.class, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The intent token was issued to a different user.");
+    }
+
+    @Test
+    void encode_WhenTheIntentWasNotCreatedByThisLibrary_ThenThrows() {
+        assertThatThrownBy(() -> fixture.encode(notCreatedByThisLibrary, Duration.ofMinutes(5), key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("%s was not created by this library.", notCreatedByThisLibrary);
+    }
+
+    @Test
+    void encode_WhenTheIntentHasNoAuthentication_ThenThrows() {
+        var values = Map.<String, Object>of("getAccount", account, "getAmount", 42, "getMemo", Optional.empty());
+        var intent = new IntentInvocationHandler<>(Transfer.class, values, null, namingConvention, methodRoleHelper).get();
+        assertThatThrownBy(() -> fixture.encode(intent, Duration.ofMinutes(5), key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("%s was created without an authentication.", intent);
+    }
+
+    @Test
+    void encode_WhenAValueDoesNotRoundTrip_ThenThrows() {
+        var values = Map.<String, Object>of("getTags", List.of("a,b"));
+        var intent = new IntentInvocationHandler<>(Tagging.class, values, alice, namingConvention, methodRoleHelper).get();
+        assertThatThrownBy(() -> fixture.encode(intent, Duration.ofMinutes(5), key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Value for 'getTags' in %s can't be encoded.", intent);
+    }
+
+    @Test
+    void encode_WhenACollectionRoundTrips_ThenEncodesIt() {
+        var values = Map.<String, Object>of("getTags", List.of("a", "b"));
+        var intent = new IntentInvocationHandler<>(Tagging.class, values, alice, namingConvention, methodRoleHelper).get();
+        var token = fixture.encode(intent, Duration.ofMinutes(5), key);
+        assertThat(fixture.decode(token, Tagging.class, key).getTags()).containsExactly("a", "b");
+    }
+
+    private IntentTokenCodecImpl codec(Clock clock) {
+        return new IntentTokenCodecImpl(namingConvention, methodRoleHelper, conversionService, extractorFactory, clock);
+    }
+
+    private Transfer transfer(Optional<String> memo) {
+        var values = Map.<String, Object>of("getAccount", account, "getAmount", 42, "getMemo", memo);
+        return new IntentInvocationHandler<>(Transfer.class, values, alice, namingConvention, methodRoleHelper).get();
+    }
+
+}
@@ -0,0 +1,70 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LazyValueTest {
+
+    private static final Object SOURCE = new Object();
+
+    @Test
+    void get() {
+        var count = new AtomicInteger();
+        var fixture = new LazyValue(SOURCE, "foo", count::incrementAndGet);
+        assertThat(count).hasValue(0);
+        assertThat(fixture.get()).isEqualTo(1);
+        assertThat(fixture.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_WhenTheComputationThrowsACheckedException_ThenWrapsIt() {
+        var exception = new IOException();
+        var fixture = new LazyValue(SOURCE, "foo", () -> {
+            throw exception;
+        });
+        assertThatThrownBy(fixture::get).isInstanceOf(IllegalStateException.class).hasCause(exception);
+    }
+
+    @Test
+    void get_WhenTheComputationThrowsAnUncheckedException_ThenRethrowsIt() {
+        var exception = new IllegalArgumentException();
+        var fixture = new LazyValue(SOURCE, "foo", () -> {
+            throw exception;
+        });
+        assertThatThrownBy(fixture::get).isEqualTo(exception);
+    }
+
+    @Test
+    void resolve() {
+        var value = new Object();
+        assertThat(LazyValue.resolve(new LazyValue(SOURCE, "foo", () -> value))).isSameAs(value);
+        assertThat(LazyValue.resolve(value)).isSameAs(value);
+        assertThat(LazyValue.resolve(null)).isNull();
+    }
+
+    @Test
+    void testEquals() {
+        var count = new AtomicInteger();
+        var fixture = new LazyValue(SOURCE, "foo", count::incrementAndGet);
+        assertThat(fixture)
+                .isEqualTo(new LazyValue(SOURCE, "foo", count::incrementAndGet))
+                .hasSameHashCodeAs(new LazyValue(SOURCE, "foo", count::incrementAndGet))
+                .isNotEqualTo(new LazyValue(SOURCE, "bar", count::incrementAndGet))
+                .isNotEqualTo(new LazyValue(new Object(), "foo", count::incrementAndGet));
+        assertThat(count).hasValue(0);
+    }
+
+    @Test
+    void testToString() {
+        var fixture = new LazyValue(SOURCE, "foo", () -> "foo");
+        assertThat(fixture).hasToString("(not loaded)");
+        fixture.get();
+        assertThat(fixture).hasToString("foo");
+    }
+
+}
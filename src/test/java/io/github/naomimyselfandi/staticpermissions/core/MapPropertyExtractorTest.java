@@ -11,6 +11,7 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -72,4 +73,16 @@ class MapPropertyExtractorTest {
         assertThat(fixture.extract(map, method, propertyName)).isEqualTo(PropertyExtractor.TYPE_MISMATCH);
     }
 
+
+    @Test
+    void isPresent() {
+        var propertyName = UUID.randomUUID().toString();
+        var map = new HashMap<String, Object>();
+        map.put(propertyName, source);
+        map.put("null", null);
+        assertThat(fixture.isPresent(map, method, propertyName)).isTrue();
+        assertThat(fixture.isPresent(map, method, "null")).isFalse();
+        assertThat(fixture.isPresent(map, method, "absent")).isFalse();
+    }
+
 }
@@ -0,0 +1,67 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemoTest {
+
+    private Memo fixture;
+
+    @BeforeEach
+    void setup() {
+        fixture = new Memo();
+    }
+
+    @Test
+    void get() throws Throwable {
+        var value = new Object();
+        assertThat(fixture.get(() -> value)).isSameAs(value);
+        assertThat(fixture.get(Object::new)).isSameAs(value);
+    }
+
+    @Test
+    void get_WhenTheValueIsNull_ThenMemoizesIt() throws Throwable {
+        assertThat(fixture.get(() -> null)).isNull();
+        assertThat(fixture.get(Object::new)).isNull();
+    }
+
+    @Test
+    void get_WhenTheComputationFails_ThenComputesAgain() throws Throwable {
+        var exception = new Exception();
+        assertThatThrownBy(() -> fixture.get(() -> {
+            throw exception;
+        })).isEqualTo(exception);
+        var value = new Object();
+        assertThat(fixture.get(() -> value)).isSameAs(value);
+    }
+
+    @Test
+    void get_WhenCalledConcurrently_ThenComputesOnce() {
+        var count = new AtomicInteger();
+        var latch = new CountDownLatch(1);
+        var futures = IntStream.range(0, 8).mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+            try {
+                latch.await();
+                return fixture.get(() -> {
+                    count.incrementAndGet();
+                    return new Object();
+                });
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        })).toList();
+        latch.countDown();
+        var results = futures.stream().map(CompletableFuture::join).distinct().toList();
+        assertThat(results).hasSize(1);
+        assertThat(count).hasValue(1);
+    }
+
+}
@@ -56,6 +56,15 @@ class MethodRoleHelperImplTest {
             default Object notProperty() {
                 return fail();
             }
+            @Intent.Memoized
+            default Object memoizedProperty() {
+                return fail();
+            }
+            @Intent.Memoized
+            @Intent.NotProperty
+            default Object memoizedNotProperty() {
+                return fail();
+            }
         }
         return Stream.of(
                 arguments(Object.class.getMethod("equals", Object.class), MethodRole.EQUALS),
@@ -63,13 +72,16 @@ class MethodRoleHelperImplTest {
                 arguments(Object.class.getMethod("toString"), MethodRole.TO_STRING),
                 arguments(Intent.class.getMethod("__auth__"), MethodRole.AUTHENTICATION),
                 arguments(Intent.class.getMethod("__data__"), MethodRole.DATA_MAP),
+                arguments(Intent.class.getMethod("__attachments__"), MethodRole.ATTACHMENTS),
                 arguments(Holder.class.getMethod("requiredProperty"), MethodRole.REQUIRED_PROPERTY),
                 arguments(Holder.class.getMethod("optionalProperty"), MethodRole.OPTIONAL_PROPERTY),
                 arguments(Holder.class.getMethod("defaultProperty"), MethodRole.OPTIONAL_PROPERTY),
                 arguments(Holder.class.getMethod("defaultMethod", Object.class), MethodRole.NON_PROPERTY),
                 arguments(Holder.class.getMethod("voidMethod"), MethodRole.NON_PROPERTY),
                 arguments(Holder.class.getMethod("staticMethod", Object.class), MethodRole.NON_PROPERTY),
-                arguments(Holder.class.getMethod("notProperty"), MethodRole.NON_PROPERTY)
+                arguments(Holder.class.getMethod("notProperty"), MethodRole.NON_PROPERTY),
+                arguments(Holder.class.getMethod("memoizedProperty"), MethodRole.OPTIONAL_PROPERTY),
+                arguments(Holder.class.getMethod("memoizedNotProperty"), MethodRole.NON_PROPERTY)
         );
     }
 
@@ -80,7 +92,14 @@ class MethodRoleHelperImplTest {
             Object methodWithUnexpectedProperty(Object something);
             Object __auth__(Object something);
             Object __data__(Object something);
+            Object __attachments__(Object something);
             Object __unknownReservedMethod__();
+            @Intent.Memoized
+            Object memoizedAbstractMethod();
+            @Intent.Memoized
+            default Object memoizedMethodWithParameters(Object something) {
+                return fail();
+            }
         }
         return Arrays.stream(Helper.class.getMethods());
     }
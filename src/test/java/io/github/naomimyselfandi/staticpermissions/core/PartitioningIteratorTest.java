@@ -0,0 +1,125 @@
+package io.github.naomimyselfandi.staticpermissions.core;
+
+import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitioningIteratorTest {
+
+    private interface TestIntent extends Intent {}
+
+    private final AccessPolicy.Denial denial = RuntimeException::new;
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setup() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void teardown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void next_WhenOrdered_ThenPreservesEncounterOrder() {
+        var sources = IntStream.range(0, 50).boxed().toList();
+        var fixture = new PartitioningIterator<TestIntent>(sources.iterator(), source -> {
+            sleep(50 - (Integer) source);
+            return Decision.denied(source, denial);
+        }, pool, 8, true);
+        var results = new ArrayList<>();
+        fixture.forEachRemaining(decision -> results.add(decision.source()));
+        assertThat(results).isEqualTo(sources);
+    }
+
+    @Test
+    void next_WhenUnordered_ThenProducesCompletedDecisionsFirst() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var fixture = new PartitioningIterator<TestIntent>(List.of(0, 1).iterator(), source -> {
+            if (source.equals(0)) {
+                await(latch);
+            }
+            return Decision.denied(source, denial);
+        }, pool, 2, false);
+        assertThat(fixture.hasNext()).isTrue();
+        assertThat(fixture.next().source()).isEqualTo(1);
+        latch.countDown();
+        assertThat(fixture.next().source()).isEqualTo(0);
+        assertThat(fixture.hasNext()).isFalse();
+    }
+
+    @Test
+    void next_ThenKeepsTheWindowBounded() {
+        var pulled = new AtomicInteger();
+        var sources = IntStream.range(0, 100).peek(i -> pulled.incrementAndGet()).boxed().iterator();
+        var fixture = new PartitioningIterator<TestIntent>(sources, source -> Decision.denied(source, denial), pool, 8, true);
+        fixture.next();
+        assertThat(pulled).hasValue(8);
+        fixture.next();
+        assertThat(pulled).hasValue(9);
+    }
+
+    @Test
+    void next_WhenADecisionFails_ThenThrows() {
+        var exception = new IllegalArgumentException();
+        var fixture = new PartitioningIterator<TestIntent>(List.of(0).iterator(), source -> {
+            throw exception;
+        }, pool, 8, true);
+        assertThatThrownBy(fixture::next).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void next_WhenExhausted_ThenThrows() {
+        var fixture = new PartitioningIterator<TestIntent>(List.of().iterator(), source -> {
+            throw new AssertionError();
+        }, pool, 8, true);
+        assertThat(fixture.hasNext()).isFalse();
+        assertThatThrownBy(fixture::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void cancel() {
+        var latch = new CountDownLatch(1);
+        var fixture = new PartitioningIterator<TestIntent>(List.of(0).iterator(), source -> {
+            await(latch);
+            return Decision.denied(source, denial);
+        }, pool, 8, true);
+        assertThat(fixture.hasNext()).isTrue();
+        fixture.cancel();
+        latch.countDown();
+        assertThat(fixture.hasNext()).isFalse();
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package io.github.naomimyselfandi.staticpermissions.core;
 
+import io.github.naomimyselfandi.staticpermissions.Intent;
 import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,7 +16,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 import static io.github.naomimyselfandi.staticpermissions.PropertyExtractor.TYPE_MISMATCH;
 
@@ -36,6 +37,13 @@ class PolyExtractorTest {
         Method METHOD = Arrays.stream(OptionalPropertyType.class.getMethods()).findFirst().orElseThrow();
     }
 
+    private interface LazyPropertyType {
+        @SuppressWarnings("unused")
+        @Intent.Lazy
+        LazyPropertyType lazyMethodName();
+        Method METHOD = Arrays.stream(LazyPropertyType.class.getMethods()).findFirst().orElseThrow();
+    }
+
     private String requiredName, optionalName;
 
     @Mock
@@ -107,4 +115,57 @@ class PolyExtractorTest {
                 .hasMessage("Value for '%s' in %s is not the correct type.", optionalName, source);
     }
 
+
+    @Test
+    void extract_WhenAPropertyIsLazy_ThenExtractsItOnDemand() {
+        var lazyValue = mock(LazyPropertyType.class);
+        var lazyProperty = new PolyExtractor.Property("lazy", LazyPropertyType.METHOD, false);
+        assertThat(lazyProperty.lazy()).isTrue();
+        fixture = new PolyExtractor<>(List.of(lazyProperty), propertyExtractor);
+        when(propertyExtractor.isPresent(source, LazyPropertyType.METHOD, "lazy")).thenReturn(true);
+        var result = fixture.extract(source);
+        verify(propertyExtractor, never()).extract(any(), any(), any());
+        when(propertyExtractor.extract(source, LazyPropertyType.METHOD, "lazy")).thenReturn(lazyValue);
+        assertThat(result.get(LazyPropertyType.METHOD.getName()))
+                .isInstanceOfSatisfying(LazyValue.class, it -> assertThat(it.get()).isEqualTo(lazyValue));
+    }
+
+    @Test
+    void extract_WhenALazyPropertyIsUnavailable_ThenThrows() {
+        var lazyProperty = new PolyExtractor.Property("lazy", LazyPropertyType.METHOD, false);
+        fixture = new PolyExtractor<>(List.of(lazyProperty), propertyExtractor);
+        when(propertyExtractor.isPresent(source, LazyPropertyType.METHOD, "lazy")).thenReturn(false);
+        assertThatThrownBy(() -> fixture.extract(source))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Couldn't find a value for 'lazy' in %s.", source);
+    }
+
+    @Test
+    void extract_WhenAnOptionalLazyPropertyIsUnavailable_ThenSkipsIt() {
+        var lazyProperty = new PolyExtractor.Property("lazy", LazyPropertyType.METHOD, true);
+        fixture = new PolyExtractor<>(List.of(lazyProperty), propertyExtractor);
+        when(propertyExtractor.isPresent(source, LazyPropertyType.METHOD, "lazy")).thenReturn(false);
+        assertThat(fixture.extract(source)).isEmpty();
+    }
+
+    @Test
+    void extract_WhenALazyPropertyIsIncorrectlyTyped_ThenThrowsOnAccess() {
+        var lazyProperty = new PolyExtractor.Property("lazy", LazyPropertyType.METHOD, false);
+        fixture = new PolyExtractor<>(List.of(lazyProperty), propertyExtractor);
+        when(propertyExtractor.isPresent(source, LazyPropertyType.METHOD, "lazy")).thenReturn(true);
+        when(propertyExtractor.extract(source, LazyPropertyType.METHOD, "lazy")).thenReturn(TYPE_MISMATCH);
+        var value = (LazyValue) fixture.extract(source).get(LazyPropertyType.METHOD.getName());
+        assertThatThrownBy(value::get)
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Value for 'lazy' in %s is not the correct type.", source);
+    }
+
+    @Test
+    void extract_WhenThereAreNoProperties_ThenReturnsASharedEmptyMap() {
+        var empty = new PolyExtractor<>(List.of(), propertyExtractor);
+        assertThat(empty.extract(source)).isEmpty();
+        assertThat(empty.extract(source)).isSameAs(empty.extract(mock(Source.class)));
+        verifyNoInteractions(propertyExtractor);
+    }
+
 }
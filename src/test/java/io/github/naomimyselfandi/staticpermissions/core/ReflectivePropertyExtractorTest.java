@@ -2,6 +2,7 @@ package io.github.naomimyselfandi.staticpermissions.core;
 
 import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -99,6 +100,24 @@ class ReflectivePropertyExtractorTest {
         assertThat(fixture.extract(helper, method, name)).isEqualTo(expected);
     }
 
+    @Test
+    void isPresent() throws NoSuchMethodException {
+        var helper = mock(Source.class);
+        var method = Target.class.getMethod("pikachu");
+        when(helper.basic()).thenReturn(Pikachu.PIKACHU);
+        assertThat(fixture.isPresent(helper, method, "BASIC")).isTrue();
+        assertThat(fixture.isPresent(helper, method, "STAGE2")).isFalse();
+        verify(conversionService, never()).convert(any(), any(), any());
+    }
+
+    @Test
+    void isPresent_WhenTheGetterReturnsNull_ThenFalse() throws NoSuchMethodException {
+        var helper = mock(Source.class);
+        var method = Target.class.getMethod("raichu");
+        assertThat(fixture.isPresent(helper, method, "STAGE1")).isFalse();
+        verify(helper).stage1();
+    }
+
     private static Stream<Arguments> validate() {
         return Stream.of(
                 arguments("BASIC", Pikachu.TYPE, ReflectivePropertyExtractor.ValidationResult.OK),
@@ -1,6 +1,9 @@
 package io.github.naomimyselfandi.staticpermissions.core;
 
 import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.BatchAccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.FilteringAccessPolicy;
 import io.github.naomimyselfandi.staticpermissions.Intent;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,15 +13,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +33,9 @@ class StaticPermissionServiceImplTest {
 
     private static class Source {}
     private interface Target extends Intent {}
+    private interface SubTarget extends Target {
+        int getExtra();
+    }
 
     private Source source;
 
@@ -37,6 +45,15 @@ class StaticPermissionServiceImplTest {
     @Mock
     private AccessPolicy<Target> policy1, policy2;
 
+    @Mock
+    private AccessPolicy<SubTarget> policy3;
+
+    @Mock
+    private BatchAccessPolicy<Target> batchPolicy;
+
+    @Mock
+    private FilteringAccessPolicy<Target, CharSequence> filteringPolicy1, filteringPolicy2;
+
     @Mock
     private Extractor<Source> extractor;
 
@@ -46,6 +63,15 @@ class StaticPermissionServiceImplTest {
     @Mock
     private ExtractorFactory extractorFactory;
 
+    @Mock
+    private DecisionIndex decisionIndex;
+
+    @Mock
+    private DecisionIndex.Lookup lookup;
+
+    @Mock
+    private BatchDispatcher batchDispatcher;
+
     @Mock
     private NamingConvention namingConvention;
 
@@ -59,7 +85,7 @@ class StaticPermissionServiceImplTest {
     private StaticPermissionServiceImpl fixture;
 
     @Mock
-    private Authentication user;
+    private Authentication user, user2, user3;
 
     @BeforeEach
     void setup() {
@@ -70,6 +96,9 @@ class StaticPermissionServiceImplTest {
                 case "equals" -> MethodRole.EQUALS;
                 case "hashCode" -> MethodRole.HASH_CODE;
                 case "toString" -> MethodRole.TO_STRING;
+                case "__auth__" -> MethodRole.AUTHENTICATION;
+                case "__data__" -> MethodRole.DATA_MAP;
+                case "__attachments__" -> MethodRole.ATTACHMENTS;
                 default -> MethodRole.NON_PROPERTY;
             };
         });
@@ -85,6 +114,8 @@ class StaticPermissionServiceImplTest {
         when(conversionServices.iterator()).then(invocation -> List.of(conversionService).iterator());
         fixture.initialize();
         verify(conversionService).addConverter(new IntentConverter(fixture));
+        verify(conversionService).addConverter(new IntentCollectionConverter(fixture));
+        verify(conversionService).addConverter(new IntentMapConverter(fixture, conversionService));
     }
 
     @ParameterizedTest
@@ -118,6 +149,25 @@ class StaticPermissionServiceImplTest {
         assertThat(fixture.normalizeMethodName(method)).isEqualTo(normalized);
     }
 
+    @Test
+    void getProperties() throws NoSuchMethodException {
+        interface Holder extends Intent {
+            Object getFoo();
+            Object bar();
+            Object baz();
+        }
+        var foo = Holder.class.getMethod("getFoo");
+        var bar = Holder.class.getMethod("bar");
+        doReturn(MethodRole.REQUIRED_PROPERTY).when(methodRoleHelper).getRole(foo);
+        doReturn(MethodRole.OPTIONAL_PROPERTY).when(methodRoleHelper).getRole(bar);
+        when(namingConvention.normalize("getFoo")).thenReturn("foo");
+        when(namingConvention.normalize("bar")).thenReturn("bar");
+        assertThat(fixture.getProperties(Holder.class))
+                .containsExactly(Map.entry("bar", bar), Map.entry("foo", foo))
+                .isUnmodifiable();
+        assertThat(fixture.getProperties(Holder.class)).isSameAs(fixture.getProperties(Holder.class));
+    }
+
     @Test
     void require() {
         var intent = createIntent();
@@ -136,6 +186,32 @@ class StaticPermissionServiceImplTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void require_WhenTheIntentIsIndexed_ThenRecordsTheDecision(boolean permitted) {
+        var intent = createIntent();
+        when(decisionIndex.lookup(intent, Target.class)).thenReturn(lookup);
+        if (!permitted) {
+            when(policy2.apply(intent)).thenReturn(RuntimeException::new);
+        }
+        assertThat(fixture.request(source, Target.class)).isEqualTo(Optional.ofNullable(permitted ? intent : null));
+        verify(lookup).record(permitted);
+    }
+
+    @Test
+    void require_WhenTheIndexPermitsTheIntent_ThenSkipsPolicies() {
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        var values = Map.of(UUID.randomUUID().toString(), new Object());
+        when(extractor.extract(source)).thenReturn(values);
+        var intent = new IntentInvocationHandler<>(Target.class, values, user, namingConvention, methodRoleHelper).get();
+        when(decisionIndex.lookup(intent, Target.class)).thenReturn(lookup);
+        when(lookup.isPermitted()).thenReturn(true);
+        assertThat(fixture.require(source, Target.class)).isEqualTo(intent);
+        verifyNoInteractions(policy1, policy2);
+        verify(lookup, never()).record(anyBoolean());
+    }
+
     @Test
     void require_WhenTheSourceIsInvalid_ThenThrows() {
         when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.empty());
@@ -144,6 +220,47 @@ class StaticPermissionServiceImplTest {
                 .hasMessage("%s is not a valid source for %s.", Source.class, Target.class);
     }
 
+    @Test
+    void require_WhenAPolicySupportsBatching_ThenDispatchesIt() {
+        var intent = createIntent();
+        var exception = new RuntimeException();
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1, batchPolicy));
+        when(batchDispatcher.apply(batchPolicy, intent)).thenReturn(() -> exception);
+        assertThatThrownBy(() -> fixture.require(source, Target.class)).isEqualTo(exception);
+        verify(batchPolicy, never()).apply(any());
+    }
+
+    @Test
+    void require_WhenTheIntentTypeHasNoProperties_ThenEachCheckHasItsOwnAttachments() {
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(Map.of());
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1));
+        var intent = fixture.require(source, Target.class);
+        var other = fixture.require(source, Target.class);
+        assertThat(other).isEqualTo(intent).isNotSameAs(intent);
+        assertThat(Intent.getAttachments(other)).isNotSameAs(Intent.getAttachments(intent));
+    }
+
+    @Test
+    void require_WhenTheIntentTypeHasNoProperties_ThenDoesNotRetainTheAuthentication() throws InterruptedException {
+        var authentication = new TestingAuthenticationToken(UUID.randomUUID().toString(), null);
+        var reference = new WeakReference<>(authentication);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(Map.of());
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of());
+        fixture.require(source, Target.class);
+        SecurityContextHolder.clearContext();
+        reset(decisionIndex); // Mockito remembers the intent object it was last called with.
+        authentication = null;
+        for (var i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(reference.get()).isNull();
+    }
+
     @Test
     void request() {
         var intent = createIntent();
@@ -170,6 +287,414 @@ class StaticPermissionServiceImplTest {
                 .hasMessage("%s is not a valid source for %s.", Source.class, Target.class);
     }
 
+    @Test
+    void capabilities() {
+        var values = Map.of(UUID.randomUUID().toString(), new Object());
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractorFactory.apply(Source.class, SubTarget.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(values);
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1, policy2));
+        when((Object) accessPolicyRegistry.get(SubTarget.class)).thenReturn(List.of(policy1, policy2, policy3));
+        when(policy3.apply(any())).thenReturn(RuntimeException::new);
+        var types = new LinkedHashSet<Class<? extends Intent>>(List.of(Target.class, SubTarget.class));
+        assertThat(fixture.capabilities(source, types))
+                .containsExactly(entry(Target.class, true), entry(SubTarget.class, false))
+                .isUnmodifiable();
+        verify(policy1).apply(any());
+        verify(policy2).apply(any());
+    }
+
+    @Test
+    void capabilities_WhenASharedPolicyDeniesAccess_ThenDoesNotCheckItAgain() {
+        var values = Map.of(UUID.randomUUID().toString(), new Object());
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractorFactory.apply(Source.class, SubTarget.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(values);
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1, policy2));
+        when((Object) accessPolicyRegistry.get(SubTarget.class)).thenReturn(List.of(policy1, policy2, policy3));
+        when(policy1.apply(any())).thenReturn(RuntimeException::new);
+        var types = new LinkedHashSet<Class<? extends Intent>>(List.of(SubTarget.class, Target.class));
+        assertThat(fixture.capabilities(source, types))
+                .containsExactly(entry(SubTarget.class, false), entry(Target.class, false));
+        verify(policy1).apply(any());
+        verifyNoInteractions(policy2, policy3);
+    }
+
+    @Test
+    void capabilities_WhenTheSourceIsInvalid_ThenThrows() {
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> fixture.capabilities(source, Set.of(Target.class)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("%s is not a valid source for %s.", Source.class, Target.class);
+    }
+
+    @Test
+    void requireAll() {
+        var source2 = new Source();
+        var source3 = new Source();
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(Map.of("getValue", "foo"));
+        when(extractor.extract(source2)).thenReturn(Map.of("getValue", "bar"));
+        when(extractor.extract(source3)).thenReturn(Map.of("getValue", "foo"));
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1, batchPolicy));
+        when(batchPolicy.applyAll(any())).then(invocation -> {
+            assertThat(invocation.<List<Target>>getArgument(0))
+                    .extracting(Intent::__data__)
+                    .containsExactly(Map.of("getValue", "foo"), Map.of("getValue", "bar"));
+            return Arrays.asList(null, null);
+        });
+        var intents = fixture.requireAll(List.of(source, source2, source3), Target.class);
+        assertThat(intents).extracting(Intent::__data__).containsExactly(
+                Map.of("getValue", "foo"),
+                Map.of("getValue", "bar"),
+                Map.of("getValue", "foo")
+        );
+        assertThat(intents.get(2)).isSameAs(intents.get(0));
+        verify(policy1, times(2)).apply(any());
+    }
+
+    @Test
+    void requireAll_WhenSourcesAreEqual_ThenExtractsThemOnce() {
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(Map.of("getValue", "foo"));
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1));
+        var intents = fixture.requireAll(List.of(source, source), Target.class);
+        assertThat(intents).hasSize(2);
+        assertThat(intents.get(1)).isSameAs(intents.get(0));
+        verify(extractor).extract(source);
+        verify(policy1).apply(intents.get(0));
+    }
+
+    @Test
+    void requireAll_AppliesOrdinaryPoliciesOnTheCallingThread() {
+        var sources = IntStream.range(0, 64).mapToObj(i -> new Source()).toList();
+        var thread = Thread.currentThread();
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(any())).then(invocation -> Map.of("getValue", invocation.getArgument(0)));
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1));
+        when(policy1.apply(any())).then(invocation -> {
+            assertThat(Thread.currentThread()).isSameAs(thread);
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(user);
+            return null;
+        });
+        assertThat(fixture.requireAll(sources, Target.class)).hasSize(64);
+        verify(policy1, times(64)).apply(any());
+    }
+
+    @Test
+    void requireAll_WhenAPolicyDeniesAccess_ThenThrows() {
+        var source2 = new Source();
+        var exception = new RuntimeException();
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(Map.of("getValue", "foo"));
+        when(extractor.extract(source2)).thenReturn(Map.of("getValue", "bar"));
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1));
+        when(policy1.apply(any())).then(invocation -> {
+            var intent = invocation.<Target>getArgument(0);
+            return intent.__data__().get("getValue").equals("bar") ? (AccessPolicy.Denial) () -> exception : null;
+        });
+        assertThatThrownBy(() -> fixture.requireAll(List.of(source, source2), Target.class)).isEqualTo(exception);
+    }
+
+    @Test
+    void decideAll() {
+        var source2 = new Source();
+        var source3 = new Source();
+        var exception = new RuntimeException();
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(Map.of("getValue", "foo"));
+        when(extractor.extract(source2)).thenReturn(Map.of("getValue", "bar"));
+        when(extractor.extract(source3)).thenReturn(Map.of("getValue", "bar"));
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1));
+        when(policy1.apply(any())).then(invocation -> {
+            var intent = invocation.<Target>getArgument(0);
+            return intent.__data__().get("getValue").equals("bar") ? (AccessPolicy.Denial) () -> exception : null;
+        });
+        var decisions = fixture.decideAll(List.of(source, source2, source3), Target.class);
+        assertThat(decisions).extracting(Decision::source).containsExactly(source, source2, source3);
+        assertThat(decisions).extracting(Decision::isPermitted).containsExactly(true, false, false);
+        assertThat(decisions.get(0).intent()).returns(Map.of("getValue", "foo"), Intent::__data__);
+        assertThat(decisions.get(2).denial()).isSameAs(decisions.get(1).denial());
+        verify(policy1, times(2)).apply(any());
+    }
+
+    @Test
+    void refine() {
+        var original = createOriginal();
+        var refined = createRefined();
+        when((Object) accessPolicyRegistry.get(SubTarget.class)).thenReturn(List.of(policy1, policy3));
+        when(policy1.getIntentType()).thenReturn(Target.class);
+        when(policy3.getIntentType()).thenReturn(SubTarget.class);
+        var result = fixture.refine(original, SubTarget.class, Map.of("extra", 42));
+        assertThat(result).isEqualTo(refined);
+        assertThat(Intent.getAttachments(result)).isSameAs(Intent.getAttachments(original));
+        verify(policy1, never()).apply(any());
+        verify(policy3).apply(refined);
+    }
+
+    @Test
+    void refine_WhenANewPolicyDeniesAccess_ThenThrows() {
+        var original = createOriginal();
+        var refined = createRefined();
+        var exception = new RuntimeException();
+        when((Object) accessPolicyRegistry.get(SubTarget.class)).thenReturn(List.of(policy3));
+        when(policy3.getIntentType()).thenReturn(SubTarget.class);
+        when(policy3.apply(refined)).thenReturn(() -> exception);
+        assertThatThrownBy(() -> fixture.refine(original, SubTarget.class, Map.of("extra", 42))).isEqualTo(exception);
+    }
+
+    @Test
+    void refine_DoesNotConvertExistingValues() {
+        var original = createOriginal();
+        createRefined();
+        when((Object) accessPolicyRegistry.get(SubTarget.class)).thenReturn(List.of());
+        fixture.refine(original, SubTarget.class, Map.of("extra", 42));
+        verify(conversionService, never()).convert(eq("foo"), any(), any());
+        verifyNoInteractions(extractorFactory);
+    }
+
+    @Test
+    void refine_WhenARequiredPropertyHasNoValue_ThenThrows() {
+        var original = createOriginal();
+        doReturn(MethodRole.REQUIRED_PROPERTY).when(methodRoleHelper).getRole(getExtra());
+        assertThatThrownBy(() -> fixture.refine(original, SubTarget.class, Map.of()))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Couldn't find a value for 'extra' in {}.");
+    }
+
+    @Test
+    void refine_WhenAnAdditionalValueIsNotAProperty_ThenThrows() {
+        var original = createOriginal();
+        assertThatThrownBy(() -> fixture.refine(original, SubTarget.class, Map.of("bogus", 42)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'bogus' is not a property of %s.", SubTarget.class.getName());
+    }
+
+    @Test
+    void refine_WhenTheUserIsDifferent_ThenThrows() {
+        var original = createOriginal();
+        SecurityContextHolder.getContext().setAuthentication(user2);
+        assertThatThrownBy(() -> fixture.refine(original, SubTarget.class, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("%s was created for a different user.", original);
+    }
+
+    @Test
+    void refine_WhenAnAdditionalValueReplacesAnExistingOne_ThenThrows() {
+        var original = createOriginal();
+        assertThatThrownBy(() -> fixture.refine(original, SubTarget.class, Map.of("value", 42)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'value' is already set by %s.", original);
+    }
+
+    @Test
+    void refine_WhenAnAdditionalValueFillsAnEmptyProperty_ThenThrows() throws NoSuchMethodException {
+        interface Document extends Intent {
+            Optional<String> getShareToken();
+        }
+        interface SharedDocument extends Document {}
+        var getter = Document.class.getMethod("getShareToken");
+        doReturn(MethodRole.OPTIONAL_PROPERTY).when(methodRoleHelper).getRole(getter);
+        when(namingConvention.normalize("getShareToken")).thenReturn("shareToken");
+        SecurityContextHolder.getContext().setAuthentication(user);
+        var values = Map.<String, Object>of("getShareToken", Optional.empty());
+        var original = new IntentInvocationHandler<>(Document.class, values, user, namingConvention, methodRoleHelper).get();
+        assertThatThrownBy(() -> fixture.refine(original, SharedDocument.class, Map.of("shareToken", "forged")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'shareToken' is a property of %s.", Document.class.getName());
+    }
+
+    @Test
+    void refine_WhenTheIntentWasNotCreatedByThisLibrary_ThenThrows() {
+        var original = mock(Target.class);
+        assertThatThrownBy(() -> fixture.refine(original, SubTarget.class, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("%s was not created by this library.", original);
+    }
+
+    @Test
+    void audience() {
+        var values = Map.<String, Object>of(UUID.randomUUID().toString(), new Object());
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(values);
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1, batchPolicy));
+        when(policy1.apply(any())).then(invocation -> {
+            var intent = invocation.<Target>getArgument(0);
+            return Intent.getAuthentication(intent) == user2 ? (AccessPolicy.Denial) RuntimeException::new : null;
+        });
+        when(batchPolicy.applyAll(any())).then(invocation -> {
+            var intents = invocation.<List<Target>>getArgument(0);
+            assertThat(intents).extracting(Intent::getAuthentication).containsExactly(user, user3);
+            return Arrays.asList(null, (AccessPolicy.Denial) RuntimeException::new);
+        });
+        when(decisionIndex.lookup(any(), eq(Target.class))).thenReturn(lookup);
+        assertThat(fixture.audience(source, Target.class, List.of(user, user2, user3))).containsExactly(user);
+        verify(lookup).record(true);
+        verify(lookup, times(2)).record(false);
+        verify(extractor).extract(source);
+        verify(batchPolicy, never()).apply(any());
+    }
+
+    @Test
+    void audience_WhenThereAreManyUsers_ThenKeepsTheirOrder() {
+        var users = IntStream
+                .range(0, 64)
+                .<Authentication>mapToObj(i -> new TestingAuthenticationToken(i, null))
+                .toList();
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(Map.of());
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1));
+        when(policy1.apply(any())).then(invocation -> {
+            var authentication = Intent.getAuthentication(invocation.<Target>getArgument(0));
+            var principal = (int) Objects.requireNonNull(authentication).getPrincipal();
+            return principal % 2 == 0 ? null : (AccessPolicy.Denial) RuntimeException::new;
+        });
+        var expected = IntStream.range(0, 32).mapToObj(i -> users.get(2 * i)).toList();
+        assertThat(fixture.audience(source, Target.class, users)).isEqualTo(expected);
+        verify(policy1, times(64)).apply(any());
+    }
+
+    @Test
+    void audience_WhenABatchPolicyReturnsTheWrongNumberOfResults_ThenThrows() {
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(source)).thenReturn(Map.of());
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(batchPolicy));
+        when(batchPolicy.applyAll(any())).thenReturn(List.of());
+        assertThatThrownBy(() -> fixture.audience(source, Target.class, List.of(user, user2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("%s returned 0 results for 2 intents.", batchPolicy);
+    }
+
+    @Test
+    void audience_WhenTheSourceIsInvalid_ThenThrows() {
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> fixture.audience(source, Target.class, List.of(user)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("%s is not a valid source for %s.", Source.class, Target.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void partition(boolean parallel) {
+        var sources = IntStream.range(0, 100).mapToObj(i -> new Source()).toList();
+        AccessPolicy.Denial denial = RuntimeException::new;
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(any())).then(invocation -> Map.of("source", invocation.getArgument(0)));
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1));
+        when(policy1.apply(any())).then(invocation -> {
+            var intent = invocation.<Target>getArgument(0);
+            assertThat(Intent.getAuthentication(intent)).isEqualTo(user);
+            return sources.indexOf(intent.__data__().get("source")) % 3 == 0 ? denial : null;
+        });
+        SecurityContextHolder.getContext().setAuthentication(user);
+        var stream = fixture.partition(parallel ? sources.parallelStream() : sources.stream(), Target.class);
+        SecurityContextHolder.getContext().setAuthentication(user2);
+        var decisions = stream.toList();
+        assertThat(decisions).extracting(Decision::source).isEqualTo(sources);
+        for (var i = 0; i < sources.size(); i++) {
+            var decision = decisions.get(i);
+            if (i % 3 == 0) {
+                assertThat(decision.isPermitted()).isFalse();
+                assertThat(decision.denial()).isEqualTo(denial);
+            } else {
+                assertThat(decision.isPermitted()).isTrue();
+                assertThat(decision.intent()).isNotNull();
+                assertThat(decision.intent().__data__()).isEqualTo(Map.of("source", sources.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void partition_WhenTheSourceStreamIsUnordered_ThenProducesEveryDecision() {
+        var sources = IntStream.range(0, 100).mapToObj(i -> new Source()).toList();
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
+        when(extractor.extract(any())).then(invocation -> Map.of("source", invocation.getArgument(0)));
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(policy1));
+        SecurityContextHolder.getContext().setAuthentication(user);
+        try (var decisions = fixture.partition(sources.parallelStream().unordered(), Target.class)) {
+            assertThat(decisions.map(Decision::source)).containsExactlyInAnyOrderElementsOf(sources);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void partition_WhenASourceIsInvalid_ThenThrowsWhenConsumed(boolean parallel) {
+        when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.empty());
+        var stream = parallel ? Stream.of(source).parallel() : Stream.of(source);
+        var decisions = fixture.partition(stream, Target.class);
+        assertThatThrownBy(decisions::toList)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("%s is not a valid source for %s.", Source.class, Target.class);
+    }
+
+    @Test
+    void getFilters() {
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(filteringPolicy1, filteringPolicy2));
+        when(filteringPolicy1.getFilterType()).thenReturn(CharSequence.class);
+        when(filteringPolicy2.getFilterType()).thenReturn(CharSequence.class);
+        when(filteringPolicy1.getFilter(user)).thenReturn("owner = :user");
+        when(filteringPolicy2.getFilter(user)).thenReturn("deleted = false");
+        assertThat(fixture.getFilters(Target.class, CharSequence.class))
+                .contains(List.of("owner = :user", "deleted = false"));
+    }
+
+    @Test
+    void getFilters_WhenAPolicyDoesNotRestrictTheUser_ThenOmitsItsFilter() {
+        SecurityContextHolder.getContext().setAuthentication(user);
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(filteringPolicy1, filteringPolicy2));
+        when(filteringPolicy1.getFilterType()).thenReturn(CharSequence.class);
+        when(filteringPolicy2.getFilterType()).thenReturn(CharSequence.class);
+        when(filteringPolicy2.getFilter(user)).thenReturn("deleted = false");
+        assertThat(fixture.getFilters(Target.class, Object.class)).contains(List.of("deleted = false"));
+    }
+
+    @Test
+    void getFilters_WhenAPolicyCannotFilter_ThenReturnsEmpty() {
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(filteringPolicy1, policy1));
+        when(filteringPolicy1.getFilterType()).thenReturn(CharSequence.class);
+        assertThat(fixture.getFilters(Target.class, CharSequence.class)).isEmpty();
+    }
+
+    @Test
+    void getFilters_WhenAPolicyProducesTheWrongFilterType_ThenReturnsEmpty() {
+        when((Object) accessPolicyRegistry.get(Target.class)).thenReturn(List.of(filteringPolicy1));
+        when(filteringPolicy1.getFilterType()).thenReturn(CharSequence.class);
+        assertThat(fixture.getFilters(Target.class, String.class)).isEmpty();
+        verify(filteringPolicy1, never()).getFilter(any());
+    }
+
+    private Target createOriginal() {
+        SecurityContextHolder.getContext().setAuthentication(user);
+        lenient().when(namingConvention.normalize(any())).then(invocation -> invocation.<String>getArgument(0).substring(3).toLowerCase());
+        var values = Map.<String, Object>of("getValue", "foo", "getNote", Optional.empty());
+        return new IntentInvocationHandler<>(Target.class, values, user, namingConvention, methodRoleHelper).get();
+    }
+
+    private SubTarget createRefined() {
+        var extra = getExtra();
+        doReturn(MethodRole.REQUIRED_PROPERTY).when(methodRoleHelper).getRole(extra);
+        when(conversionService.canConvert(TypeDescriptor.valueOf(Integer.class), TypeDescriptor.valueOf(int.class)))
+                .thenReturn(true);
+        when(conversionService.convert(42, TypeDescriptor.valueOf(Integer.class), TypeDescriptor.valueOf(int.class)))
+                .thenReturn(42);
+        var values = Map.<String, Object>of("getValue", "foo", "getNote", Optional.empty(), "getExtra", 42);
+        return new IntentInvocationHandler<>(SubTarget.class, values, user, namingConvention, methodRoleHelper).get();
+    }
+
+    private static Method getExtra() {
+        try {
+            return SubTarget.class.getMethod("getExtra");
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     private Target createIntent() {
         SecurityContextHolder.getContext().setAuthentication(user);
         when(extractorFactory.apply(Source.class, Target.class)).thenReturn(Optional.of(extractor));
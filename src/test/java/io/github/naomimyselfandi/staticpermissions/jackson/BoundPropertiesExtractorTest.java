@@ -0,0 +1,44 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundPropertiesExtractorTest {
+
+    private final BoundPropertiesExtractor fixture = new BoundPropertiesExtractor();
+
+    @Test
+    void extract() throws NoSuchMethodException {
+        var method = Object.class.getMethod("toString");
+        var value = new Object();
+        var values = new HashMap<String, Object>();
+        values.put("foo", value);
+        values.put("bar", null);
+        var source = new BoundProperties(values);
+        assertThat(fixture.extract(source, method, "foo")).isSameAs(value);
+        assertThat(fixture.extract(source, method, "bar")).isNull();
+        assertThat(fixture.extract(source, method, "baz")).isNull();
+    }
+
+    @Test
+    void isPresent() throws NoSuchMethodException {
+        Method method = Object.class.getMethod("toString");
+        var values = new HashMap<String, Object>();
+        values.put("foo", new Object());
+        values.put("bar", null);
+        var source = new BoundProperties(values);
+        assertThat(fixture.isPresent(source, method, "foo")).isTrue();
+        assertThat(fixture.isPresent(source, method, "bar")).isFalse();
+        assertThat(fixture.isPresent(source, method, "baz")).isFalse();
+    }
+
+    @Test
+    void getSupportedType() {
+        assertThat(fixture.getSupportedType()).isEqualTo(BoundProperties.class);
+    }
+
+}
@@ -0,0 +1,104 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IntentCollectionDeserializerTest {
+
+    private interface TestIntent extends Intent {
+        String getName();
+    }
+
+    @Mock
+    private TestIntent intent1, intent2;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() throws NoSuchMethodException {
+        lenient().when(staticPermissionService.isSourceFor(any(), any())).thenReturn(false);
+        lenient().when(staticPermissionService.isSourceFor(com.fasterxml.jackson.databind.JsonNode.class, TestIntent.class))
+                .thenReturn(true);
+        lenient().when(staticPermissionService.getProperties(TestIntent.class))
+                .thenReturn(Map.of("name", TestIntent.class.getMethod("getName")));
+        objectMapper = new ObjectMapper().registerModule(new SimpleModule() {
+            @Override
+            public void setupModule(SetupContext context) {
+                context.addDeserializers(new IntentDeserializers(staticPermissionService));
+            }
+        });
+    }
+
+    @Test
+    void deserialize_List() throws Exception {
+        var foo = new BoundProperties(Map.of("name", "foo"));
+        var bar = new BoundProperties(Map.of("name", "bar"));
+        when(staticPermissionService.requireAll(List.of(foo, bar, foo), TestIntent.class))
+                .thenReturn(List.of(intent1, intent2, intent1));
+        var type = objectMapper.getTypeFactory().constructCollectionType(List.class, TestIntent.class);
+        List<TestIntent> result = objectMapper.readValue("""
+                [{"name": "foo"}, {"name": "bar"}, null, {"name": "foo"}]
+                """, type);
+        assertThat(result).containsExactly(intent1, intent2, null, intent1);
+        verify(staticPermissionService, never()).require(any(), any());
+    }
+
+    @Test
+    void deserialize_Set() throws Exception {
+        var foo = new BoundProperties(Map.of("name", "foo"));
+        when(staticPermissionService.requireAll(List.of(foo, foo), TestIntent.class))
+                .thenReturn(List.of(intent1, intent1));
+        var type = objectMapper.getTypeFactory().constructCollectionType(Set.class, TestIntent.class);
+        Set<TestIntent> result = objectMapper.readValue("[{\"name\": \"foo\"}, {\"name\": \"foo\"}]", type);
+        assertThat(result).containsExactly(intent1);
+    }
+
+    @Test
+    void deserialize_Array() throws Exception {
+        var foo = new BoundProperties(Map.of("name", "foo"));
+        when(staticPermissionService.requireAll(List.of(foo, new TextNode("bar")), TestIntent.class))
+                .thenReturn(List.of(intent1, intent2));
+        var result = objectMapper.readValue("[null, {\"name\": \"foo\"}, \"bar\"]", TestIntent[].class);
+        assertThat(result).containsExactly(null, intent1, intent2);
+    }
+
+    @Test
+    void deserialize_WhenSingleValuesAreAccepted_ThenWrapsThem() throws Exception {
+        var foo = new BoundProperties(Map.of("name", "foo"));
+        when(staticPermissionService.requireAll(List.of(foo), TestIntent.class)).thenReturn(List.of(intent1));
+        var type = objectMapper.getTypeFactory().constructCollectionType(List.class, TestIntent.class);
+        List<TestIntent> result = objectMapper
+                .readerFor(type)
+                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+                .readValue("{\"name\": \"foo\"}");
+        assertThat(result).containsExactly(intent1);
+    }
+
+    @Test
+    void deserialize_WhenTheValueIsNotAnArray_ThenThrows() {
+        var type = objectMapper.getTypeFactory().constructCollectionType(List.class, TestIntent.class);
+        assertThatThrownBy(() -> objectMapper.readValue("{\"name\": \"foo\"}", type))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+
+}
@@ -1,6 +1,8 @@
 package io.github.naomimyselfandi.staticpermissions.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
@@ -13,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -22,7 +25,10 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class IntentDeserializerTest {
 
-    private interface TestIntent extends Intent {}
+    private interface TestIntent extends Intent {
+        String getName();
+        List<Integer> getNumbers();
+    }
 
     @Mock
     private TestIntent intent;
@@ -51,4 +57,49 @@ class IntentDeserializerTest {
         assertThat(fixture.deserialize(jsonParser, null)).isEqualTo(intent);
     }
 
+    @Test
+    void deserialize_WhenResolved_ThenBindsPropertiesDirectly() throws Exception {
+        var objectMapper = createObjectMapper();
+        var values = Map.<String, Object>of("name", "foo", "numbers", List.of(1, 2, 3));
+        when(staticPermissionService.require(new BoundProperties(values), TestIntent.class)).thenReturn(intent);
+        var json = """
+                {"ignored": {"nested": [1, {"deeply": true}]}, "name": "foo", "numbers": [1, 2, 3], "other": null}
+                """;
+        assertThat(objectMapper.readValue(json, TestIntent.class)).isEqualTo(intent);
+    }
+
+    @Test
+    void deserialize_WhenAPropertyIsNull_ThenOmitsIt() throws Exception {
+        var objectMapper = createObjectMapper();
+        var values = Map.<String, Object>of("name", "foo");
+        when(staticPermissionService.require(new BoundProperties(values), TestIntent.class)).thenReturn(intent);
+        assertThat(objectMapper.readValue("{\"name\": \"foo\", \"numbers\": null}", TestIntent.class)).isEqualTo(intent);
+    }
+
+    @Test
+    void deserialize_WhenResolvedButTheValueIsNotAnObject_ThenUsesTheTree() throws Exception {
+        var objectMapper = createObjectMapper();
+        when(staticPermissionService.require(new TextNode("foo"), TestIntent.class)).thenReturn(intent);
+        assertThat(objectMapper.readValue("\"foo\"", TestIntent.class)).isEqualTo(intent);
+    }
+
+    @Test
+    void deserialize_WhenNested_ThenLeavesTheParserAfterTheObject() throws Exception {
+        var objectMapper = createObjectMapper();
+        var values = Map.<String, Object>of("name", "foo");
+        when(staticPermissionService.require(new BoundProperties(values), TestIntent.class)).thenReturn(intent);
+        var type = objectMapper.getTypeFactory().constructCollectionType(List.class, TestIntent.class);
+        List<TestIntent> result = objectMapper.readValue("[{\"name\": \"foo\"}, {\"name\": \"foo\"}]", type);
+        assertThat(result).containsExactly(intent, intent);
+    }
+
+    private ObjectMapper createObjectMapper() throws NoSuchMethodException {
+        when(staticPermissionService.getProperties(TestIntent.class)).thenReturn(Map.of(
+                "name", TestIntent.class.getMethod("getName"),
+                "numbers", TestIntent.class.getMethod("getNumbers")
+        ));
+        var module = new SimpleModule().addDeserializer(TestIntent.class, fixture);
+        return new ObjectMapper().registerModule(module);
+    }
+
 }
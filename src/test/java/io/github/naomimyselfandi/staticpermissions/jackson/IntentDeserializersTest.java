@@ -1,6 +1,8 @@
 package io.github.naomimyselfandi.staticpermissions.jackson;
 
+import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.github.naomimyselfandi.staticpermissions.Intent;
 import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
@@ -11,6 +13,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,4 +45,56 @@ class IntentDeserializersTest {
         assertThat(fixture.findBeanDeserializer(javaType, null, null)).isNull();
     }
 
+    @Test
+    void findCollectionDeserializer() {
+        when(staticPermissionService.isSourceFor(JsonNode.class, TestIntent.class)).thenReturn(true);
+        var javaType = TypeFactory.defaultInstance().constructCollectionType(List.class, TestIntent.class);
+        var expected = new IntentCollectionDeserializer<>(javaType, TestIntent.class, staticPermissionService);
+        assertThat(fixture.findCollectionDeserializer(javaType, null, null, null, null)).isEqualTo(expected);
+    }
+
+    @Test
+    void findCollectionDeserializer_WhenTheElementTypeIsNotAppropriate_ThenNull() {
+        when(staticPermissionService.isSourceFor(JsonNode.class, TestIntent.class)).thenReturn(false);
+        var javaType = TypeFactory.defaultInstance().constructCollectionType(List.class, TestIntent.class);
+        assertThat(fixture.findCollectionDeserializer(javaType, null, null, null, null)).isNull();
+    }
+
+    @Test
+    void findCollectionDeserializer_WhenTheElementsHaveACustomDeserializer_ThenNull() {
+        var javaType = TypeFactory.defaultInstance().constructCollectionType(List.class, TestIntent.class);
+        var custom = mock(JsonDeserializer.class);
+        assertThat(fixture.findCollectionDeserializer(javaType, null, null, null, custom)).isNull();
+    }
+
+    @Test
+    void findArrayDeserializer() {
+        when(staticPermissionService.isSourceFor(JsonNode.class, TestIntent.class)).thenReturn(true);
+        var javaType = TypeFactory.defaultInstance().constructArrayType(TestIntent.class);
+        var expected = new IntentCollectionDeserializer<>(javaType, TestIntent.class, staticPermissionService);
+        assertThat(fixture.findArrayDeserializer(javaType, null, null, null, null)).isEqualTo(expected);
+    }
+
+    @Test
+    void findMapDeserializer() {
+        when(staticPermissionService.isSourceFor(String.class, TestIntent.class)).thenReturn(true);
+        var javaType = TypeFactory.defaultInstance().constructMapType(Map.class, TestIntent.class, String.class);
+        var expected = new IntentMapDeserializer<>(javaType, TestIntent.class, null, null, staticPermissionService);
+        assertThat(fixture.findMapDeserializer(javaType, null, null, null, null, null)).isEqualTo(expected);
+    }
+
+    @Test
+    void findMapDeserializer_WhenTheKeyTypeIsNotAppropriate_ThenNull() {
+        when(staticPermissionService.isSourceFor(String.class, TestIntent.class)).thenReturn(false);
+        var javaType = TypeFactory.defaultInstance().constructMapType(Map.class, TestIntent.class, String.class);
+        assertThat(fixture.findMapDeserializer(javaType, null, null, null, null, null)).isNull();
+    }
+
+    @Test
+    void findMapDeserializer_WhenTheKeysHaveACustomDeserializer_ThenNull() {
+        var javaType = TypeFactory.defaultInstance().constructMapType(Map.class, TestIntent.class, String.class);
+        var custom = mock(KeyDeserializer.class);
+        assertThat(fixture.findMapDeserializer(javaType, null, null, custom, null, null)).isNull();
+    }
+
 }
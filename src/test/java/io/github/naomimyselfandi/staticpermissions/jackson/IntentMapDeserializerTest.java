@@ -0,0 +1,104 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IntentMapDeserializerTest {
+
+    private interface TestIntent extends Intent {}
+
+    @Mock
+    private TestIntent intent1, intent2, intent3;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(staticPermissionService.isSourceFor(any(), any())).thenReturn(false);
+        lenient().when(staticPermissionService.isSourceFor(String.class, TestIntent.class)).thenReturn(true);
+        objectMapper = new ObjectMapper().registerModule(new SimpleModule() {
+            @Override
+            public void setupModule(SetupContext context) {
+                context.addDeserializers(new IntentDeserializers(staticPermissionService));
+            }
+        });
+    }
+
+    @Test
+    void deserialize() throws Exception {
+        when(staticPermissionService.requireAll(List.of("foo", "bar", "baz"), TestIntent.class))
+                .thenReturn(List.of(intent1, intent2, intent3));
+        var result = objectMapper.readValue("""
+                {"foo": [1, 2], "bar": [3], "baz": null}
+                """, new TypeReference<Map<TestIntent, List<Integer>>>() {});
+        var expected = new HashMap<TestIntent, List<Integer>>();
+        expected.put(intent1, List.of(1, 2));
+        expected.put(intent2, List.of(3));
+        expected.put(intent3, null);
+        assertThat(result).isEqualTo(expected);
+        verify(staticPermissionService, never()).require(any(), any());
+    }
+
+    @Test
+    void deserialize_WhenAFieldIsRepeated_ThenUsesTheLastValue() throws Exception {
+        when(staticPermissionService.requireAll(List.of("foo", "foo"), TestIntent.class))
+                .thenReturn(List.of(intent1, intent1));
+        var result = objectMapper.readValue("""
+                {"foo": "x", "foo": "y"}
+                """, new TypeReference<Map<TestIntent, String>>() {});
+        assertThat(result).isEqualTo(Map.of(intent1, "y"));
+    }
+
+    @Test
+    void deserialize_WhenDifferentFieldsConvertToTheSameIntent_ThenThrows() {
+        when(staticPermissionService.requireAll(List.of("1", "01"), TestIntent.class))
+                .thenReturn(List.of(intent1, intent1));
+        assertThatThrownBy(() -> objectMapper.readValue("""
+                {"1": "x", "01": "y"}
+                """, new TypeReference<Map<TestIntent, String>>() {}))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageStartingWith("'1' and '01' convert to the same intent.");
+    }
+
+    @Test
+    void deserialize_Empty() throws Exception {
+        when(staticPermissionService.requireAll(List.of(), TestIntent.class)).thenReturn(List.of());
+        var result = objectMapper.readValue("{}", new TypeReference<SortedMap<TestIntent, String>>() {});
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void deserialize_Nested() throws Exception {
+        when(staticPermissionService.requireAll(List.of("foo"), TestIntent.class)).thenReturn(List.of(intent1));
+        var result = objectMapper.readValue("""
+                {"outer": {"foo": "x"}}
+                """, new TypeReference<Map<String, Map<TestIntent, String>>>() {});
+        assertThat(result).isEqualTo(Map.of("outer", Map.of(intent1, "x")));
+    }
+
+    @Test
+    void deserialize_WhenTheValueIsNotAnObject_ThenThrows() {
+        assertThatThrownBy(() -> objectMapper.readValue("[]", new TypeReference<Map<TestIntent, String>>() {}))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IntentSerializerTest {
+
+    @SuppressWarnings("unused")
+    private interface TestIntent extends Intent {
+        String getName();
+        List<Integer> numbers();
+        Optional<String> getNote();
+        Optional<String> getComment();
+        default boolean isFlagged() {
+            return false;
+        }
+    }
+
+    @Mock
+    private TestIntent intent;
+
+    @Mock
+    private Authentication user;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() throws NoSuchMethodException {
+        var properties = new LinkedHashMap<String, Method>();
+        properties.put("comment", TestIntent.class.getMethod("getComment"));
+        properties.put("flagged", TestIntent.class.getMethod("isFlagged"));
+        properties.put("name", TestIntent.class.getMethod("getName"));
+        properties.put("note", TestIntent.class.getMethod("getNote"));
+        properties.put("numbers", TestIntent.class.getMethod("numbers"));
+        when(staticPermissionService.getProperties(TestIntent.class)).thenReturn(properties);
+        when(intent.__data__()).thenReturn(Map.of(
+                "getName", "foo",
+                "numbers", List.of(1, 2),
+                "getNote", Optional.of("bar"),
+                "getComment", Optional.empty()
+        ));
+        var fixture = new IntentSerializer(TestIntent.class, staticPermissionService);
+        objectMapper = new ObjectMapper().registerModule(new SimpleModule().addSerializer(fixture));
+    }
+
+    @Test
+    void serialize() throws Exception {
+        assertThat(objectMapper.writeValueAsString(intent))
+                .isEqualTo("{\"name\":\"foo\",\"note\":\"bar\",\"numbers\":[1,2]}");
+    }
+
+    @Test
+    void serialize_WhenTheAuthenticationIsIncluded_ThenWritesItsName() throws Exception {
+        when(intent.__auth__()).thenReturn(user);
+        when(user.getName()).thenReturn("alice");
+        var json = objectMapper
+                .writer()
+                .withAttribute(AuthenticationInclusion.class, AuthenticationInclusion.NAME)
+                .writeValueAsString(intent);
+        assertThat(json).isEqualTo("{\"name\":\"foo\",\"note\":\"bar\",\"numbers\":[1,2],\"__auth__\":\"alice\"}");
+    }
+
+    @Test
+    void serialize_WhenTheAuthenticationIsOmitted_ThenDoesNotWriteIt() throws Exception {
+        var json = objectMapper
+                .writer()
+                .withAttribute(AuthenticationInclusion.class, AuthenticationInclusion.OMIT)
+                .writeValueAsString(intent);
+        assertThat(json).isEqualTo("{\"name\":\"foo\",\"note\":\"bar\",\"numbers\":[1,2]}");
+    }
+
+    @Test
+    void serializeWithType() throws Exception {
+        objectMapper.activateDefaultTypingAsProperty(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                "@type"
+        );
+        var json = objectMapper.writerFor(Object.class).writeValueAsString(intent);
+        assertThat(objectMapper.readTree(json).get("@type").textValue()).isEqualTo(intent.getClass().getName());
+        assertThat(objectMapper.readTree(json).get("name").textValue()).isEqualTo("foo");
+    }
+
+}
@@ -0,0 +1,55 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IntentSerializersTest {
+
+    private interface TestIntent extends Intent {}
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    @InjectMocks
+    private IntentSerializers fixture;
+
+    @Test
+    void findSerializer() {
+        when(staticPermissionService.getProperties(TestIntent.class)).thenReturn(Map.of());
+        var javaType = TypeFactory.defaultInstance().constructType(TestIntent.class);
+        var expected = new IntentSerializer(TestIntent.class, staticPermissionService);
+        assertThat(fixture.findSerializer(null, javaType, null)).isEqualTo(expected);
+    }
+
+    @Test
+    void findSerializer_WhenTheTypeIsAnIntentObjectClass_ThenUsesItsIntentType() {
+        when(staticPermissionService.getProperties(TestIntent.class)).thenReturn(Map.of());
+        var proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{TestIntent.class}, (p, m, a) -> null);
+        var javaType = TypeFactory.defaultInstance().constructType(proxy.getClass());
+        var expected = new IntentSerializer(TestIntent.class, staticPermissionService);
+        assertThat(fixture.findSerializer(null, javaType, null)).isEqualTo(expected);
+    }
+
+    @Test
+    void findSerializer_WhenTheTypeIsNotAnIntentType_ThenNull() {
+        var proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Runnable.class}, (p, m, a) -> null);
+        var typeFactory = TypeFactory.defaultInstance();
+        assertThat(fixture.findSerializer(null, typeFactory.constructType(String.class), null)).isNull();
+        assertThat(fixture.findSerializer(null, typeFactory.constructType(Runnable.class), null)).isNull();
+        assertThat(fixture.findSerializer(null, typeFactory.constructType(proxy.getClass()), null)).isNull();
+    }
+
+}
@@ -0,0 +1,130 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IntentStreamReaderImplTest {
+
+    private interface TestIntent extends Intent {
+        int getA();
+    }
+
+    @Mock
+    private TestIntent intent;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private ObjectMapper objectMapper;
+
+    private IntentStreamReaderImpl fixture;
+
+    @BeforeEach
+    void setup() throws NoSuchMethodException {
+        objectMapper = new ObjectMapper();
+        var property = TestIntent.class.getMethod("getA");
+        lenient().when(staticPermissionService.getProperties(TestIntent.class)).thenReturn(Map.of("a", property));
+        fixture = new IntentStreamReaderImpl(objectMapper, staticPermissionService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"a\":1}\n{\"a\":2}\n{\"a\":3}\n",
+            "{\"a\":1} {\"a\":2} {\"a\":3}",
+            "[{\"a\":1},{\"a\":2},{\"a\":3}]",
+    })
+    void read(String json) throws IOException {
+        var sources = new ArrayList<>();
+        when(staticPermissionService.partition(any(), any())).then(invocation -> {
+            Stream<?> stream = invocation.getArgument(0);
+            assertThat(stream.isParallel()).isTrue();
+            return stream.peek(sources::add).map(source -> Decision.permitted(source, intent));
+        });
+        try (var decisions = fixture.read(input(json), TestIntent.class)) {
+            assertThat(decisions).hasSize(3).allMatch(Decision::isPermitted);
+        }
+        assertThat(sources).containsExactly(
+                new BoundProperties(Map.of("a", 1)),
+                new BoundProperties(Map.of("a", 2)),
+                new BoundProperties(Map.of("a", 3))
+        );
+    }
+
+    @Test
+    void read_WhenARecordIsNotAnObject_ThenReadsItAsATree() throws IOException {
+        var sources = new ArrayList<>();
+        when(staticPermissionService.partition(any(), any())).then(invocation -> {
+            Stream<?> stream = invocation.getArgument(0);
+            return stream.peek(sources::add).map(source -> Decision.permitted(source, intent));
+        });
+        try (var decisions = fixture.read(input("1 {\"a\":2}"), TestIntent.class)) {
+            assertThat(decisions).hasSize(2);
+        }
+        assertThat(sources).containsExactly(objectMapper.readTree("1"), new BoundProperties(Map.of("a", 2)));
+    }
+
+    @Test
+    void read_IsLazy() throws IOException {
+        var sources = new ArrayList<>();
+        when(staticPermissionService.partition(any(), any())).then(invocation -> {
+            Stream<?> stream = invocation.getArgument(0);
+            return stream.peek(sources::add).map(source -> Decision.permitted(source, intent));
+        });
+        try (var decisions = fixture.read(input("{\"a\":1}\n{\"a\":2}\n{\"a\":3}\n"), TestIntent.class)) {
+            assertThat(sources).isEmpty();
+            assertThat(decisions.iterator().next()).isNotNull();
+            assertThat(sources).hasSize(1);
+        }
+    }
+
+    @Test
+    void read_WhenTheStreamIsClosed_ThenClosesTheInput() throws IOException {
+        var closed = new AtomicBoolean();
+        var input = new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        when(staticPermissionService.partition(any(), any())).then(invocation -> invocation.getArgument(0));
+        fixture.read(input, TestIntent.class).close();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void read_WhenTheInputIsEmpty_ThenProducesNothing() throws IOException {
+        when(staticPermissionService.partition(any(), any())).then(invocation -> invocation.getArgument(0));
+        try (var decisions = fixture.read(input(""), TestIntent.class)) {
+            assertThat(decisions.toList()).isEqualTo(List.of());
+        }
+    }
+
+    private static ByteArrayInputStream input(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
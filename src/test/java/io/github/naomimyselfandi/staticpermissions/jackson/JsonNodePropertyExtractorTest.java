@@ -7,6 +7,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import java.util.List;
 import java.util.Map;
@@ -16,6 +18,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class JsonNodePropertyExtractorTest {
 
+    @SuppressWarnings("unused")
+    private interface Scalars {
+        String getString();
+        CharSequence getText();
+        boolean getBoolean();
+        Boolean getBoxedBoolean();
+        int getInt();
+        Integer getBoxedInt();
+        long getLong();
+        Long getBoxedLong();
+        double getDouble();
+        Double getBoxedDouble();
+    }
+
     private ObjectMapper objectMapper;
     private JsonNodePropertyExtractor fixture;
 
@@ -99,4 +115,60 @@ class JsonNodePropertyExtractorTest {
                 .isEqualTo(PropertyExtractor.TYPE_MISMATCH);
     }
 
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            getString,'"foo"',foo
+            getText,'"foo"',foo
+            getBoolean,true,true
+            getBoxedBoolean,false,false
+            getInt,12,12
+            getBoxedInt,12,12
+            getLong,12,12
+            getLong,12345678901,12345678901
+            getBoxedLong,12,12
+            getDouble,1.5,1.5
+            getBoxedDouble,1.5,1.5
+            """)
+    void extract_Scalar(String methodName, String json, String expected) throws Exception {
+        var method = Scalars.class.getMethod(methodName);
+        var node = objectMapper.readTree("{\"a\": %s}".formatted(json));
+        var expectedValue = objectMapper.readerFor(method.getReturnType()).readValue('"' + expected + '"');
+        assertThat(fixture.extract(node, method, "a")).isEqualTo(expectedValue);
+    }
+
+    @Test
+    void extract_WhenAScalarNeedsCoercion_ThenUsesTheMapper() throws Exception {
+        var node = objectMapper.readTree("{\"a\": \"12\", \"b\": 12, \"c\": 1.5}");
+        assertThat(fixture.extract(node, Scalars.class.getMethod("getInt"), "a")).isEqualTo(12);
+        assertThat(fixture.extract(node, Scalars.class.getMethod("getDouble"), "b")).isEqualTo(12.0);
+        assertThat(fixture.extract(node, Scalars.class.getMethod("getString"), "b")).isEqualTo("12");
+        assertThat(fixture.extract(node, Scalars.class.getMethod("getInt"), "c")).isEqualTo(1);
+    }
+
+    @Test
+    void extract_WhenAScalarIsTheWrongType_ThenReturnsTypeMismatch() throws Exception {
+        var node = objectMapper.readTree("{\"a\": true}");
+        assertThat(fixture.extract(node, Scalars.class.getMethod("getInt"), "a")).isEqualTo(PropertyExtractor.TYPE_MISMATCH);
+    }
+
+    @Test
+    void extract_WhenCalledRepeatedly_ThenProducesTheSameResults() throws Exception {
+        interface Holder {List<Integer> method();}
+        var method = Holder.class.getMethod("method");
+        var first = objectMapper.readTree("{\"numbers\": [1,2,3]}");
+        var second = objectMapper.readTree("{\"numbers\": [4,5]}");
+        assertThat(fixture.extract(first, method, "numbers")).isEqualTo(List.of(1, 2, 3));
+        assertThat(fixture.extract(second, method, "numbers")).isEqualTo(List.of(4, 5));
+    }
+
+    @Test
+    void isPresent() throws Exception {
+        interface Holder {int method();}
+        var method = Holder.class.getMethod("method");
+        var node = objectMapper.readTree("{\"a\": \"not a number\", \"b\": null}");
+        assertThat(fixture.isPresent(node, method, "a")).isTrue();
+        assertThat(fixture.isPresent(node, method, "b")).isFalse();
+        assertThat(fixture.isPresent(node, method, "c")).isFalse();
+    }
+
 }
@@ -0,0 +1,122 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JsonPayloadPropertyExtractorTest {
+
+    private interface Holder extends Intent {
+        int getNumber();
+        List<String> getNames();
+    }
+
+    private ObjectMapper objectMapper;
+    private JsonPayloadPropertyExtractor fixture;
+    private Method number, names;
+
+    @BeforeEach
+    void setup() throws NoSuchMethodException {
+        objectMapper = new ObjectMapper();
+        number = Holder.class.getMethod("getNumber");
+        names = Holder.class.getMethod("getNames");
+        var staticPermissionService = mock(StaticPermissionService.class);
+        when(staticPermissionService.getProperties(Holder.class)).thenReturn(Map.of("number", number, "names", names));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<StaticPermissionService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(staticPermissionService);
+        fixture = new JsonPayloadPropertyExtractor(objectMapper, provider);
+    }
+
+    @Test
+    void extract() {
+        var source = payload("{\"skipped\": {\"names\": [\"no\"]}, \"names\": [\"a\", \"b\"], \"number\": 5}");
+        assertThat(fixture.extract(source, number, "number")).isEqualTo(5);
+        assertThat(fixture.extract(source, names, "names")).isEqualTo(List.of("a", "b"));
+    }
+
+    @Test
+    void extract_ParsesThePayloadOnce() {
+        var parsers = new AtomicInteger();
+        var factory = new MappingJsonFactory(objectMapper) {
+            @Override
+            public JsonParser createParser(byte[] data, int offset, int len) throws IOException {
+                parsers.incrementAndGet();
+                return super.createParser(data, offset, len);
+            }
+        };
+        var source = JsonPayload.of(factory, "{\"names\": [\"a\"], \"number\": 5}".getBytes(StandardCharsets.UTF_8));
+        assertThat(fixture.isPresent(source, number, "number")).isTrue();
+        assertThat(fixture.extract(source, number, "number")).isEqualTo(5);
+        assertThat(fixture.extract(source, names, "names")).isEqualTo(List.of("a"));
+        assertThat(parsers).hasValue(1);
+    }
+
+    @Test
+    void extract_WhenANameIsRepeated_ThenUsesTheLastValue() {
+        var source = payload("{\"number\": 1, \"names\": [\"a\"], \"number\": 2, \"names\": null}");
+        assertThat(fixture.extract(source, number, "number")).isEqualTo(2);
+        assertThat(fixture.extract(source, names, "names")).isNull();
+    }
+
+    @Test
+    void extract_WhenThePropertyIsMissingOrNull_ThenReturnsNull() {
+        var source = payload("{\"number\": null}");
+        assertThat(fixture.extract(source, number, "number")).isNull();
+        assertThat(fixture.extract(source, names, "names")).isNull();
+    }
+
+    @Test
+    void extract_WhenThePayloadIsNotAnObject_ThenReturnsNull() {
+        assertThat(fixture.extract(payload("[5]"), number, "number")).isNull();
+    }
+
+    @Test
+    void extract_WhenThePropertyIsTheWrongType_ThenReturnsTypeMismatch() {
+        var source = payload("{\"number\": \"not a number\"}");
+        assertThat(fixture.extract(source, number, "number")).isEqualTo(PropertyExtractor.TYPE_MISMATCH);
+    }
+
+    @Test
+    void extract_WhenThePayloadIsMalformed_ThenThrows() {
+        var source = payload("{\"number\": ");
+        assertThatThrownBy(() -> fixture.extract(source, number, "number")).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void isPresent() {
+        var source = payload("{\"number\": \"not a number\", \"names\": null}");
+        assertThat(fixture.isPresent(source, number, "number")).isTrue();
+        assertThat(fixture.isPresent(source, names, "names")).isFalse();
+        assertThat(fixture.isPresent(source, names, "other")).isFalse();
+    }
+
+    @Test
+    void getSupportedType() {
+        assertThat(fixture.getSupportedType()).isEqualTo(JsonPayload.class);
+    }
+
+    private JsonPayload payload(String json) {
+        return JsonPayload.of(objectMapper.getFactory(), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
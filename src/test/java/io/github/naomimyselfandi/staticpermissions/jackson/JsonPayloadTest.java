@@ -0,0 +1,79 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonPayloadTest {
+
+    private final JsonFactory factory = new JsonFactory();
+
+    @Test
+    void of() {
+        var content = "{}".getBytes(StandardCharsets.UTF_8);
+        assertThat(JsonPayload.of(factory, content)).isEqualTo(new JsonPayload(factory, ByteBuffer.wrap(content)));
+    }
+
+    @Test
+    void createParser_FromAnArray() throws IOException {
+        var content = ByteBuffer.wrap("xx\"foo\"xx".getBytes(StandardCharsets.UTF_8)).position(2).slice().limit(5);
+        try (var parser = new JsonPayload(factory, content).createParser()) {
+            parser.nextToken();
+            assertThat(parser.getText()).isEqualTo("foo");
+            assertThat(parser.nextToken()).isNull();
+        }
+        assertThat(content.position()).isZero();
+    }
+
+    @Test
+    void createParser_FromADirectBuffer() throws IOException {
+        var bytes = "\"foo\"".getBytes(StandardCharsets.UTF_8);
+        var content = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        try (var parser = new JsonPayload(factory, content).createParser()) {
+            parser.nextToken();
+            assertThat(parser.getText()).isEqualTo("foo");
+        }
+        assertThat(content.position()).isZero();
+    }
+
+    @Test
+    void get() throws IOException {
+        var parsers = new AtomicInteger();
+        var countingFactory = new JsonFactory() {
+            @Override
+            public JsonParser createParser(byte[] data, int offset, int len) throws IOException {
+                parsers.incrementAndGet();
+                return super.createParser(data, offset, len);
+            }
+        };
+        var json = "{\"a\": {\"b\": [1]}, \"c\": 3, \"d\": 4, \"a\": 2, \"d\": null}";
+        var payload = JsonPayload.of(countingFactory, json.getBytes(StandardCharsets.UTF_8));
+        try (var parser = Objects.requireNonNull(payload.get("a", Set.of("a", "d"))).asParser()) {
+            assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_INT);
+            assertThat(parser.getIntValue()).isEqualTo(2);
+        }
+        assertThat(payload.get("d", Set.of())).isNull();
+        assertThat(parsers).hasValue(1);
+        try (var parser = Objects.requireNonNull(payload.get("c", Set.of())).asParser()) {
+            parser.nextToken();
+            assertThat(parser.getIntValue()).isEqualTo(3);
+        }
+        assertThat(parsers).hasValue(2);
+    }
+
+    @Test
+    void get_WhenTheDocumentIsNotAnObject_ThenReturnsNull() throws IOException {
+        assertThat(JsonPayload.of(factory, "[1]".getBytes(StandardCharsets.UTF_8)).get("a", Set.of("a"))).isNull();
+    }
+
+}
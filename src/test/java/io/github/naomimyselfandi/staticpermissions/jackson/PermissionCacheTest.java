@@ -0,0 +1,105 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.SerializerProvider;
+import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionCacheTest {
+
+    private interface TestIntent extends Intent {}
+
+    private record Source(String name) {}
+
+    @Mock
+    private TestIntent intent;
+
+    @Mock
+    private AccessPolicy.Denial denial;
+
+    @Mock
+    private SerializerProvider provider;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private PermissionCache fixture;
+
+    @BeforeEach
+    void setup() {
+        fixture = new PermissionCache(staticPermissionService);
+    }
+
+    @Test
+    void get() {
+        var cache = PermissionCache.get(provider, staticPermissionService);
+        verify(provider).setAttribute(PermissionCache.class, cache);
+        when(provider.getAttribute(PermissionCache.class)).thenReturn(cache);
+        assertThat(PermissionCache.get(provider, staticPermissionService)).isSameAs(cache);
+    }
+
+    @Test
+    void isPermitted() {
+        var permitted = new Source("foo");
+        var denied = new Source("bar");
+        when(staticPermissionService.request(permitted, TestIntent.class)).thenReturn(Optional.of(intent));
+        when(staticPermissionService.request(denied, TestIntent.class)).thenReturn(Optional.empty());
+        for (var i = 0; i < 2; i++) {
+            assertThat(fixture.isPermitted(TestIntent.class, permitted)).isTrue();
+            assertThat(fixture.isPermitted(TestIntent.class, denied)).isFalse();
+        }
+        verify(staticPermissionService).request(permitted, TestIntent.class);
+        verify(staticPermissionService).request(denied, TestIntent.class);
+    }
+
+    @Test
+    void isPermitted_WhenSourcesAreEqualButNotIdentical_ThenChecksEach() {
+        var source1 = new Source("foo");
+        var source2 = new Source("foo");
+        when(staticPermissionService.request(any(), eq(TestIntent.class))).thenReturn(Optional.of(intent));
+        fixture.isPermitted(TestIntent.class, source1);
+        fixture.isPermitted(TestIntent.class, source2);
+        verify(staticPermissionService, times(2)).request(any(), eq(TestIntent.class));
+    }
+
+    @Test
+    void prefetch() {
+        var known = new Source("foo");
+        var permitted = new Source("bar");
+        var denied = new Source("baz");
+        when(staticPermissionService.request(known, TestIntent.class)).thenReturn(Optional.of(intent));
+        fixture.isPermitted(TestIntent.class, known);
+        when(staticPermissionService.decideAll(List.of(permitted, denied), TestIntent.class))
+                .thenReturn(List.of(Decision.permitted(permitted, intent), Decision.denied(denied, denial)));
+        fixture.prefetch(TestIntent.class, Arrays.asList(known, permitted, null, denied, permitted));
+        assertThat(fixture.isPermitted(TestIntent.class, permitted)).isTrue();
+        assertThat(fixture.isPermitted(TestIntent.class, denied)).isFalse();
+        verify(staticPermissionService).request(known, TestIntent.class);
+        verifyNoMoreInteractions(staticPermissionService);
+    }
+
+    @Test
+    void prefetch_WhenEverySourceIsKnown_ThenDoesNothing() {
+        var source = new Source("foo");
+        when(staticPermissionService.request(source, TestIntent.class)).thenReturn(Optional.of(intent));
+        fixture.isPermitted(TestIntent.class, source);
+        fixture.prefetch(TestIntent.class, List.of(source, source));
+        verify(staticPermissionService, never()).decideAll(any(), any());
+    }
+
+}
@@ -0,0 +1,111 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequiresIntentPrefetchingSerializerTest {
+
+    private interface TestIntent extends Intent {}
+
+    private record Source(String name, @RequiresIntent(TestIntent.class) String secret) {}
+
+    private record Page(@JsonTypeInfo(use = JsonTypeInfo.Id.NONE) List<Source> items) {}
+
+    @Mock
+    private TestIntent intent;
+
+    @Mock
+    private AccessPolicy.Denial denial;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private ObjectMapper objectMapper;
+
+    private Source source1, source2;
+
+    @BeforeEach
+    void setup() {
+        var module = new SimpleModule().setSerializerModifier(new RequiresIntentSerializerModifier(staticPermissionService));
+        objectMapper = new ObjectMapper().registerModule(module);
+        source1 = new Source("foo", "bar");
+        source2 = new Source("baz", "qux");
+    }
+
+    @Test
+    void serialize() throws Exception {
+        when(staticPermissionService.decideAll(List.of(source1, source2), TestIntent.class))
+                .thenReturn(List.of(Decision.permitted(source1, intent), Decision.denied(source2, denial)));
+        assertThat(objectMapper.writeValueAsString(List.of(source1, source2, source1)))
+                .isEqualTo("[{\"name\":\"foo\",\"secret\":\"bar\"},{\"name\":\"baz\"},{\"name\":\"foo\",\"secret\":\"bar\"}]");
+        verify(staticPermissionService, never()).request(any(), any());
+    }
+
+    @Test
+    void serialize_WhenTheCollectionIsAProperty_ThenPrefetches() throws Exception {
+        when(staticPermissionService.decideAll(List.of(source1, source2), TestIntent.class))
+                .thenReturn(List.of(Decision.denied(source1, denial), Decision.permitted(source2, intent)));
+        assertThat(objectMapper.writeValueAsString(new Page(List.of(source1, source2))))
+                .isEqualTo("{\"items\":[{\"name\":\"foo\"},{\"name\":\"baz\",\"secret\":\"qux\"}]}");
+        verify(staticPermissionService, never()).request(any(), any());
+    }
+
+    @Test
+    void serialize_WhenTheValueIsAnArray_ThenPrefetches() throws Exception {
+        when(staticPermissionService.decideAll(List.of(source1, source2), TestIntent.class))
+                .thenReturn(List.of(Decision.permitted(source1, intent), Decision.permitted(source2, intent)));
+        assertThat(objectMapper.writeValueAsString(new Source[]{source1, source2}))
+                .isEqualTo("[{\"name\":\"foo\",\"secret\":\"bar\"},{\"name\":\"baz\",\"secret\":\"qux\"}]");
+        verify(staticPermissionService, never()).request(any(), any());
+    }
+
+    @Test
+    void serialize_WhenThereIsOneElement_ThenChecksItIndividually() throws Exception {
+        when(staticPermissionService.request(source1, TestIntent.class)).thenReturn(Optional.of(intent));
+        assertThat(objectMapper.writeValueAsString(List.of(source1)))
+                .isEqualTo("[{\"name\":\"foo\",\"secret\":\"bar\"}]");
+        verify(staticPermissionService, never()).decideAll(any(), any());
+    }
+
+    @Test
+    void serializeWithType() throws Exception {
+        when(staticPermissionService.decideAll(List.of(source1, source2), TestIntent.class))
+                .thenReturn(List.of(Decision.permitted(source1, intent), Decision.denied(source2, denial)));
+        var json = objectMapper
+                .copy()
+                .activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.EVERYTHING)
+                .writerFor(Object.class)
+                .writeValueAsString(List.of(source1, source2));
+        assertThat(json).contains("\"secret\":\"bar\"").doesNotContain("qux");
+    }
+
+    @Test
+    void isEmpty() throws Exception {
+        assertThat(objectMapper.writeValueAsString(new Page(List.of()))).isEqualTo("{\"items\":[]}");
+        var json = objectMapper
+                .copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+                .writeValueAsString(new Page(List.of()));
+        assertThat(json).isEqualTo("{}");
+    }
+
+}
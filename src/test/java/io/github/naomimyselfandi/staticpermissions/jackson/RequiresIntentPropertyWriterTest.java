@@ -0,0 +1,97 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequiresIntentPropertyWriterTest {
+
+    private interface TestIntent extends Intent {}
+
+    private record Source(String name, @RequiresIntent(TestIntent.class) String secret) {}
+
+    @JsonPropertyOrder({"name", "secret"})
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    private record ArraySource(String name, @RequiresIntent(TestIntent.class) String secret) {}
+
+    private record Renamed(@RequiresIntent(TestIntent.class) String secret) {}
+
+    @Mock
+    private TestIntent intent;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        var module = new SimpleModule().setSerializerModifier(new RequiresIntentSerializerModifier(staticPermissionService));
+        objectMapper = new ObjectMapper().registerModule(module);
+    }
+
+    @Test
+    void serializeAsField() throws Exception {
+        var source = new Source("foo", "bar");
+        when(staticPermissionService.request(source, TestIntent.class)).thenReturn(Optional.of(intent));
+        assertThat(objectMapper.writeValueAsString(source)).isEqualTo("{\"name\":\"foo\",\"secret\":\"bar\"}");
+    }
+
+    @Test
+    void serializeAsField_WhenAccessIsDenied_ThenOmitsTheField() throws Exception {
+        var source = new Source("foo", "bar");
+        when(staticPermissionService.request(source, TestIntent.class)).thenReturn(Optional.empty());
+        assertThat(objectMapper.writeValueAsString(source)).isEqualTo("{\"name\":\"foo\"}");
+    }
+
+    @Test
+    void serializeAsField_WhenTheSameSourceIsWrittenTwice_ThenChecksItOnce() throws Exception {
+        var source = new Source("foo", "bar");
+        when(staticPermissionService.request(source, TestIntent.class)).thenReturn(Optional.of(intent));
+        var json = objectMapper.writeValueAsString(new Source[][]{{source}, {source}});
+        assertThat(json).isEqualTo("[[{\"name\":\"foo\",\"secret\":\"bar\"}],[{\"name\":\"foo\",\"secret\":\"bar\"}]]");
+        verify(staticPermissionService).request(any(), any());
+    }
+
+    @Test
+    void serializeAsElement() throws Exception {
+        var source = new ArraySource("foo", "bar");
+        when(staticPermissionService.request(source, TestIntent.class)).thenReturn(Optional.of(intent));
+        assertThat(objectMapper.writeValueAsString(source)).isEqualTo("[\"foo\",\"bar\"]");
+    }
+
+    @Test
+    void serializeAsElement_WhenAccessIsDenied_ThenWritesAPlaceholder() throws Exception {
+        var source = new ArraySource("foo", "bar");
+        when(staticPermissionService.request(source, TestIntent.class)).thenReturn(Optional.empty());
+        assertThat(objectMapper.writeValueAsString(source)).isEqualTo("[\"foo\",null]");
+    }
+
+    @Test
+    void rename() throws Exception {
+        var source = new Renamed("bar");
+        when(staticPermissionService.request(source, TestIntent.class)).thenReturn(Optional.empty());
+        var json = objectMapper
+                .copy()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE)
+                .writeValueAsString(source);
+        assertThat(json).isEqualTo("{}");
+    }
+
+}
@@ -0,0 +1,137 @@
+package io.github.naomimyselfandi.staticpermissions.jackson;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.type.ArrayType;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class RequiresIntentSerializerModifierTest {
+
+    private interface TestIntent extends Intent {}
+
+    private interface OtherIntent extends Intent {}
+
+    @SuppressWarnings("unused")
+    private static class Source {
+
+        public String name;
+
+        @RequiresIntent(TestIntent.class)
+        public String secret;
+
+        private String other;
+
+        @RequiresIntent(OtherIntent.class)
+        public String getOther() {
+            return other;
+        }
+
+    }
+
+    private record Plain(String name) {}
+
+    @Mock
+    private JsonSerializer<Object> serializer;
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    private ObjectMapper objectMapper;
+
+    private RequiresIntentSerializerModifier fixture;
+
+    @BeforeEach
+    void setup() {
+        objectMapper = new ObjectMapper();
+        fixture = new RequiresIntentSerializerModifier(staticPermissionService);
+    }
+
+    @Test
+    void changeProperties() throws Exception {
+        var config = objectMapper.getSerializationConfig();
+        var description = config.introspect(objectMapper.constructType(Source.class));
+        var writers = new ArrayList<BeanPropertyWriter>();
+        objectMapper
+                .getSerializerProviderInstance()
+                .findValueSerializer(Source.class)
+                .properties()
+                .forEachRemaining(property -> writers.add((BeanPropertyWriter) property));
+        var result = fixture
+                .changeProperties(config, description, writers)
+                .stream()
+                .collect(Collectors.toMap(BeanPropertyWriter::getName, Function.identity()));
+        assertThat(result).containsOnlyKeys("name", "secret", "other");
+        assertThat(result.get("name")).isNotInstanceOf(RequiresIntentPropertyWriter.class);
+        assertThat(result.get("secret"))
+                .asInstanceOf(InstanceOfAssertFactories.type(RequiresIntentPropertyWriter.class))
+                .returns(TestIntent.class, RequiresIntentPropertyWriter::getIntentType);
+        assertThat(result.get("other"))
+                .asInstanceOf(InstanceOfAssertFactories.type(RequiresIntentPropertyWriter.class))
+                .returns(OtherIntent.class, RequiresIntentPropertyWriter::getIntentType);
+    }
+
+    @Test
+    void modifyCollectionSerializer() {
+        var type = objectMapper.getTypeFactory().constructCollectionType(List.class, Source.class);
+        var result = fixture.modifyCollectionSerializer(objectMapper.getSerializationConfig(), type, null, serializer);
+        assertThat(result)
+                .asInstanceOf(InstanceOfAssertFactories.type(RequiresIntentPrefetchingSerializer.class))
+                .returns(serializer, RequiresIntentPrefetchingSerializer::getDelegate);
+    }
+
+    @Test
+    void modifyCollectionSerializer_WhenTheElementsHaveNoAnnotatedProperties_ThenReturnsTheSerializer() {
+        for (var elementType : List.of(Plain.class, String.class, List.class)) {
+            CollectionType type = objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+            var result = fixture.modifyCollectionSerializer(objectMapper.getSerializationConfig(), type, null, serializer);
+            assertThat(result).isSameAs(serializer);
+        }
+    }
+
+    @Test
+    void modifyCollectionSerializer_WhenTheElementTypeIsNotFinal_ThenWrapsTheSerializer() {
+        var type = objectMapper.getTypeFactory().constructCollectionType(List.class, Object.class);
+        var result = fixture.modifyCollectionSerializer(objectMapper.getSerializationConfig(), type, null, serializer);
+        assertThat(result).isInstanceOf(RequiresIntentPrefetchingSerializer.class);
+    }
+
+    @Test
+    void getIntentTypes() {
+        var config = objectMapper.getSerializationConfig();
+        assertThat(fixture.getIntentTypes(config, Source.class)).containsExactlyInAnyOrder(TestIntent.class, OtherIntent.class);
+        assertThat(fixture.getIntentTypes(config, Plain.class)).isEmpty();
+        assertThat(fixture.getIntentTypes(config, Source.class)).isSameAs(fixture.getIntentTypes(config, Source.class));
+    }
+
+    @Test
+    void modifyArraySerializer() {
+        ArrayType type = objectMapper.getTypeFactory().constructArrayType(Source.class);
+        var result = fixture.modifyArraySerializer(objectMapper.getSerializationConfig(), type, null, serializer);
+        assertThat(result).isInstanceOf(RequiresIntentPrefetchingSerializer.class);
+    }
+
+    @Test
+    void modifyArraySerializer_WhenTheElementsHaveNoAnnotatedProperties_ThenReturnsTheSerializer() {
+        ArrayType type = objectMapper.getTypeFactory().constructArrayType(int.class);
+        var result = fixture.modifyArraySerializer(objectMapper.getSerializationConfig(), type, null, serializer);
+        assertThat(result).isSameAs(serializer);
+    }
+
+}
@@ -56,6 +56,8 @@ class StaticPermissionModuleTest {
         fixture.setupModule(setupContext);
         verify(setupContext).addDeserializers(new IntentDeserializers(staticPermissionService));
         verify(setupContext).addKeyDeserializers(new IntentKeyDeserializers(staticPermissionService));
+        verify(setupContext).addSerializers(new IntentSerializers(staticPermissionService));
+        verify(setupContext).addBeanSerializerModifier(new RequiresIntentSerializerModifier(staticPermissionService));
     }
 
     @Test
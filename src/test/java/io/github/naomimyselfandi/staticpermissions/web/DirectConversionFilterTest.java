@@ -0,0 +1,114 @@
+package io.github.naomimyselfandi.staticpermissions.web;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.FromStringDeserializer;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirectConversionFilterTest {
+
+    private enum Plain { FOO, BAR }
+
+    private enum Renamed {
+        @JsonProperty("foo") FOO,
+        @JsonProperty("bar") BAR,
+    }
+
+    private enum Valued {
+        FOO, BAR;
+
+        @JsonValue
+        String toJson() {
+            return name().toLowerCase();
+        }
+    }
+
+    private record Created(String value) {
+        @JsonCreator
+        static Created of(String value) {
+            return new Created(value.trim());
+        }
+    }
+
+    private record Wrapper(String value) {}
+
+    private interface WrapperMixIn {}
+
+    private DefaultConversionService conversionService;
+    private DirectConversionFilter fixture;
+
+    @BeforeEach
+    void setup() {
+        conversionService = new DefaultConversionService();
+        fixture = new DirectConversionFilter(new ObjectMapper(), conversionService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {String.class, int.class, Long.class, UUID.class, Plain.class})
+    void test_WhenJacksonHasNothingSpecialForTheType_ThenTrue(Class<?> type) {
+        assertThat(fixture.test(type)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {boolean.class, Boolean.class, Renamed.class, Valued.class})
+    void test_WhenJacksonReadsTheTypeDifferently_ThenFalse(Class<?> type) {
+        assertThat(fixture.test(type)).isFalse();
+    }
+
+    @Test
+    void test_WhenTheTypeHasACreator_ThenFalse() {
+        conversionService.addConverter(String.class, Created.class, Created::new);
+        assertThat(fixture.test(Created.class)).isFalse();
+    }
+
+    @Test
+    void test_WhenTheConversionServiceCannotConvertToTheType_ThenFalse() {
+        assertThat(fixture.test(Runnable.class)).isFalse();
+    }
+
+    @Test
+    void test_WhenEnumsAreCaseInsensitive_ThenFalseForEnums() {
+        var objectMapper = JsonMapper.builder().enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS).build();
+        fixture = new DirectConversionFilter(objectMapper, conversionService);
+        assertThat(fixture.test(Plain.class)).isFalse();
+        assertThat(fixture.test(int.class)).isTrue();
+    }
+
+    @Test
+    void test_WhenADeserializerIsRegistered_ThenFalse() {
+        var deserializer = new FromStringDeserializer<UUID>(UUID.class) {
+            @Override
+            protected UUID _deserialize(String value, DeserializationContext ctxt) {
+                return UUID.nameUUIDFromBytes(value.getBytes());
+            }
+        };
+        var objectMapper = new ObjectMapper().registerModule(new SimpleModule().addDeserializer(UUID.class, deserializer));
+        fixture = new DirectConversionFilter(objectMapper, conversionService);
+        assertThat(fixture.test(UUID.class)).isFalse();
+        assertThat(fixture.test(String.class)).isTrue();
+    }
+
+    @Test
+    void test_WhenAMixInIsRegistered_ThenFalse() {
+        conversionService.addConverter(String.class, Wrapper.class, Wrapper::new);
+        assertThat(fixture.test(Wrapper.class)).isTrue();
+        var objectMapper = new ObjectMapper().addMixIn(Wrapper.class, WrapperMixIn.class);
+        fixture = new DirectConversionFilter(objectMapper, conversionService);
+        assertThat(fixture.test(Wrapper.class)).isFalse();
+    }
+
+}
@@ -10,6 +10,9 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.lang.Nullable;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
@@ -65,4 +68,43 @@ class JsonNodeHelperImplTest {
         );
     }
 
+    @MethodSource
+    @ParameterizedTest
+    void parse(@Nullable String input, Class<?> type, JsonNode expected) {
+        assertThat(fixture.parse(input, type)).isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> parse() {
+        return Stream.of(
+                arguments(null, String.class, NullNode.getInstance()),
+                arguments(null, int.class, NullNode.getInstance()),
+                arguments("01234", String.class, new TextNode("01234")),
+                arguments("true", String.class, new TextNode("true")),
+                arguments("1e5", String.class, new TextNode("1e5")),
+                arguments("01234", int.class, new IntNode(1234)),
+                arguments("-5", Integer.class, new IntNode(-5)),
+                arguments("5", long.class, new LongNode(5)),
+                arguments("5", Long.class, new LongNode(5)),
+                arguments("0.5", double.class, new DoubleNode(0.5)),
+                arguments("5", Double.class, new DoubleNode(5)),
+                arguments("0.5", float.class, new DoubleNode(0.5)),
+                arguments("0.5", Float.class, new DoubleNode(0.5)),
+                arguments("12345678901234567890", BigInteger.class, new BigIntegerNode(new BigInteger("12345678901234567890"))),
+                arguments("0.10", BigDecimal.class, new DecimalNode(new BigDecimal("0.10"))),
+                arguments("true", boolean.class, BooleanNode.TRUE),
+                arguments("false", Boolean.class, BooleanNode.FALSE),
+                arguments("yes", boolean.class, new TextNode("yes")),
+                arguments("foo", int.class, new TextNode("foo")),
+                arguments("99999999999", int.class, new TextNode("99999999999")),
+                arguments("foo", long.class, new TextNode("foo")),
+                arguments("foo", double.class, new TextNode("foo")),
+                arguments("0b1", BigInteger.class, new TextNode("0b1")),
+                arguments("f00d", UUID.class, new TextNode("f00d")),
+                arguments("42", Object.class, new IntNode(42)),
+                arguments("0.5", Number.class, new DoubleNode(0.5)),
+                arguments("true", JsonNode.class, BooleanNode.TRUE),
+                arguments("foo", TextNode.class, new TextNode("foo"))
+        );
+    }
+
 }
@@ -1,5 +1,6 @@
 package io.github.naomimyselfandi.staticpermissions.web;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.*;
@@ -14,7 +15,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.mock.web.DelegatingServletInputStream;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -31,7 +35,10 @@ import static org.springframework.web.servlet.HandlerMapping.URI_TEMPLATE_VARIAB
 @ExtendWith(MockitoExtension.class)
 class MergedIntentArgumentResolverTest {
 
-    private interface TestIntent extends Intent {}
+    @SuppressWarnings("unused")
+    private interface TestIntent extends Intent {
+        Object getA();
+    }
 
     @Mock
     private TestIntent intent;
@@ -54,6 +61,9 @@ class MergedIntentArgumentResolverTest {
     @Mock
     private JsonNodeHelper jsonNodeHelper;
 
+    @Mock
+    private ObjectProvider<ConversionService> conversionService;
+
     private MergedIntentArgumentResolver fixture;
 
     @BeforeEach
@@ -64,8 +74,17 @@ class MergedIntentArgumentResolverTest {
             return string == null ? new TextNode("null") : new TextNode(string.toUpperCase());
             // return cache.computeIfAbsent(string, ignored -> new TextNode(UUID.randomUUID().toString()));
         });
+        lenient().when(jsonNodeHelper.parse(any(), eq(Object.class))).then(invocation -> {
+            return jsonNodeHelper.infer(invocation.getArgument(0));
+        });
         lenient().when(webRequest.getNativeRequest(HttpServletRequest.class)).thenReturn(request);
-        fixture = new MergedIntentArgumentResolver(staticPermissionService, jsonNodeHelper, new ObjectMapper());
+        lenient().when(conversionService.getObject()).thenReturn(new DefaultConversionService());
+        fixture = new MergedIntentArgumentResolver(
+                staticPermissionService,
+                jsonNodeHelper,
+                new ObjectMapper(),
+                conversionService
+        );
     }
 
     @ParameterizedTest
@@ -104,6 +123,8 @@ class MergedIntentArgumentResolverTest {
         var i = UUID.randomUUID().toString();
         var j = new String[]{UUID.randomUUID().toString(), UUID.randomUUID().toString()};
         var k = UUID.randomUUID().toString();
+        when(staticPermissionService.getProperties(TestIntent.class))
+                .thenReturn(Map.of("a", TestIntent.class.getMethod("getA")));
         when(webRequest.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST))
                 .thenReturn(Map.of("a", a, "bb", b, "unusedVariable", UUID.randomUUID().toString()));
         when(webRequest.getParameter("c")).thenReturn(c);
@@ -179,6 +200,114 @@ class MergedIntentArgumentResolverTest {
         verifyNoInteractions(mavContainer, binderFactory);
     }
 
+    @Test
+    void resolveArgument_WhenAParameterIsResolvedAgain_ThenReusesItsBindingPlan() throws Exception {
+        interface Holder {
+            void holder(@MergedIntent(params = {"*foo", "bar:baz"}) TestIntent parameter);
+        }
+        var parameter = spy(new MethodParameter(Holder.class.getMethod("holder", TestIntent.class), 0));
+        when(webRequest.getParameterValues("foo")).thenReturn(null);
+        when(webRequest.getParameter("baz")).thenReturn("qux");
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("bar", "unused")});
+        var parts = new RequestParts(Map.of("foo", List.of(), "bar", "qux"));
+        when(staticPermissionService.require(parts, TestIntent.class)).thenReturn(intent);
+        for (var i = 0; i < 3; i++) {
+            assertThat(fixture.resolveArgument(parameter, mavContainer, webRequest, binderFactory)).isEqualTo(intent);
+        }
+        verify(parameter).getParameterAnnotation(MergedIntent.class);
+    }
+
+    @Test
+    void resolveArgument_WhenPropertiesAreTyped_ThenParsesValuesForThem() throws Exception {
+        interface TypedIntent extends Intent {
+            String getZip();
+            List<Integer> getIds();
+            long getCount();
+            JsonNode getExtra();
+        }
+        interface Holder {
+            void holder(@MergedIntent(params = "*ids", cookies = "count") TypedIntent parameter);
+        }
+        var parameter = new MethodParameter(Holder.class.getMethod("holder", TypedIntent.class), 0);
+        when(staticPermissionService.getProperties(TypedIntent.class)).thenReturn(Map.of(
+                "zip", TypedIntent.class.getMethod("getZip"),
+                "ids", TypedIntent.class.getMethod("getIds"),
+                "count", TypedIntent.class.getMethod("getCount"),
+                "extra", TypedIntent.class.getMethod("getExtra")
+        ));
+        when(webRequest.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(Map.of("zip", "01234"));
+        when(webRequest.getParameterValues("ids")).thenReturn(new String[]{"1", "2"});
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("count", "3")});
+        when(jsonNodeHelper.parse("01234", String.class)).thenReturn(new TextNode("01234"));
+        when(jsonNodeHelper.parse("1", Integer.class)).thenReturn(new IntNode(1));
+        when(jsonNodeHelper.parse("2", Integer.class)).thenReturn(new IntNode(2));
+        when(jsonNodeHelper.parse("3", long.class)).thenReturn(new LongNode(3));
+        var data = new ObjectNode(JsonNodeFactory.instance, Map.of(
+                "zip", new TextNode("01234"),
+                "ids", new ArrayNode(JsonNodeFactory.instance, List.of(new IntNode(1), new IntNode(2))),
+                "count", new LongNode(3)
+        ));
+        var typedIntent = mock(TypedIntent.class);
+        when(staticPermissionService.require(data, TypedIntent.class)).thenReturn(typedIntent);
+        assertThat(fixture.resolveArgument(parameter, mavContainer, webRequest, binderFactory)).isEqualTo(typedIntent);
+        verify(jsonNodeHelper, never()).infer(any());
+    }
+
+    @Test
+    void resolveArgument_WhenNoValueNeedsInference_ThenBindsTheRawValues() throws Exception {
+        interface Holder {
+            void holder(@MergedIntent(
+                    path = {"a", "b:bb"},
+                    params = {"c", "*d"},
+                    headers = {"e:X-E", "*f:X-F"},
+                    cookies = {"g:gg"}
+            ) TestIntent parameter);
+        }
+        var parameter = new MethodParameter(Holder.class.getMethod("holder", TestIntent.class), 0);
+        when(webRequest.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, SCOPE_REQUEST)).thenReturn(Map.of("a", "01"));
+        when(webRequest.getParameter("c")).thenReturn("true");
+        when(webRequest.getParameterValues("d")).thenReturn(new String[]{"2", "3"});
+        when(webRequest.getHeader("X-E")).thenReturn("foo");
+        when(webRequest.getHeaderValues("X-F")).thenReturn(null);
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("gg", "4"), new Cookie("x", "y")});
+        var values = new HashMap<String, Object>();
+        values.put("a", "01");
+        values.put("b", null);
+        values.put("c", "true");
+        values.put("d", List.of("2", "3"));
+        values.put("e", "foo");
+        values.put("f", List.of());
+        values.put("g", "4");
+        when(staticPermissionService.require(new RequestParts(values), TestIntent.class)).thenReturn(intent);
+        assertThat(fixture.resolveArgument(parameter, mavContainer, webRequest, binderFactory)).isEqualTo(intent);
+        verifyNoInteractions(jsonNodeHelper);
+        verify(request, never()).getInputStream();
+    }
+
+    @Test
+    void resolveArgument_WhenJacksonReadsAPropertyDifferently_ThenParsesValuesForIt() throws Exception {
+        interface EnumIntent extends Intent {
+            Mode getMode();
+        }
+        interface Holder {
+            void holder(@MergedIntent(params = "mode") EnumIntent parameter);
+        }
+        var parameter = new MethodParameter(Holder.class.getMethod("holder", EnumIntent.class), 0);
+        when(staticPermissionService.getProperties(EnumIntent.class))
+                .thenReturn(Map.of("mode", EnumIntent.class.getMethod("getMode")));
+        when(webRequest.getParameter("mode")).thenReturn("read-only");
+        when(jsonNodeHelper.parse("read-only", Mode.class)).thenReturn(new TextNode("read-only"));
+        var data = new ObjectNode(JsonNodeFactory.instance, Map.of("mode", new TextNode("read-only")));
+        var enumIntent = mock(EnumIntent.class);
+        when(staticPermissionService.require(data, EnumIntent.class)).thenReturn(enumIntent);
+        assertThat(fixture.resolveArgument(parameter, mavContainer, webRequest, binderFactory)).isEqualTo(enumIntent);
+    }
+
+    private enum Mode {
+        @JsonProperty("read-only") READ_ONLY,
+        @JsonProperty("read-write") READ_WRITE,
+    }
+
     private JsonNode node(String string) {
         return jsonNodeHelper.infer(string);
     }
@@ -0,0 +1,160 @@
+package io.github.naomimyselfandi.staticpermissions.web;
+
+import io.github.naomimyselfandi.staticpermissions.Intent;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import io.github.naomimyselfandi.staticpermissions.web.MergedIntentBindingPlan.Binding;
+import io.github.naomimyselfandi.staticpermissions.web.MergedIntentBindingPlan.Body;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class MergedIntentBindingPlanTest {
+
+    @SuppressWarnings("unused")
+    private interface TestIntent extends Intent {
+        String getA();
+        Optional<Long> getC();
+        List<Integer> getD();
+        boolean[] getE();
+        Set<?> getF();
+        Object getG();
+    }
+
+    @SuppressWarnings("unused")
+    private interface Holder {
+
+        void explicit(@MergedIntent(
+                body = "content",
+                path = {"a", "b:bb"},
+                params = {"c", "*d:dd"},
+                headers = {"*e", "*f:X-F"},
+                cookies = {"g", "h:hh"}
+        ) TestIntent parameter);
+
+        void defaults(@MergedIntent TestIntent parameter);
+
+        void splat(@MergedIntent(body = "*") TestIntent parameter);
+
+        void multiple(@MergedIntent(params = {"*a", "*c", "*g"}) TestIntent parameter);
+
+        void direct(@MergedIntent(path = "a", params = {"*d", "unknown"}, cookies = "c") TestIntent parameter);
+
+        void untyped(@MergedIntent(path = "a", headers = "g") TestIntent parameter);
+
+        void duplicateCookies(@MergedIntent(cookies = {"a:c", "b:c"}) TestIntent parameter);
+
+    }
+
+    @Mock
+    private StaticPermissionService staticPermissionService;
+
+    @BeforeEach
+    void setup() throws NoSuchMethodException {
+        var properties = Map.of(
+                "a", TestIntent.class.getMethod("getA"),
+                "c", TestIntent.class.getMethod("getC"),
+                "d", TestIntent.class.getMethod("getD"),
+                "e", TestIntent.class.getMethod("getE"),
+                "f", TestIntent.class.getMethod("getF"),
+                "g", TestIntent.class.getMethod("getG")
+        );
+        lenient().when(staticPermissionService.getProperties(TestIntent.class)).thenReturn(properties);
+    }
+
+    @Test
+    void compile() throws NoSuchMethodException {
+        assertThat(compile("explicit")).isEqualTo(new MergedIntentBindingPlan(
+                TestIntent.class,
+                Body.KEYED,
+                "content",
+                false,
+                List.of(new Binding("a", "a", false, String.class), new Binding("b", "bb", false, Object.class)),
+                List.of(new Binding("c", "c", false, Long.class), new Binding("d", "dd", true, Integer.class)),
+                List.of(new Binding("e", "e", true, boolean.class), new Binding("f", "X-F", true, Object.class)),
+                Map.of("g", new Binding("g", "g", false, Object.class), "hh", new Binding("h", "hh", false, Object.class)),
+                Map.of(
+                        "a", String.class,
+                        "c", Long.class,
+                        "d", List.class,
+                        "e", boolean[].class,
+                        "f", Set.class,
+                        "g", Object.class
+                ),
+                false
+        ));
+    }
+
+    @Test
+    void compile_WhenTheAnnotationHasNoMappings_ThenUsesAllPathVariables() throws NoSuchMethodException {
+        assertThat(compile("defaults"))
+                .returns(Body.NONE, MergedIntentBindingPlan::body)
+                .returns(true, MergedIntentBindingPlan::allPathVariables)
+                .returns(List.of(), MergedIntentBindingPlan::path)
+                .returns(List.of(), MergedIntentBindingPlan::params)
+                .returns(List.of(), MergedIntentBindingPlan::headers)
+                .returns(Map.of(), MergedIntentBindingPlan::cookies);
+    }
+
+    @Test
+    void compile_WhenTheBodyIsSplatted_ThenRecordsIt() throws NoSuchMethodException {
+        assertThat(compile("splat")).returns(Body.SPLAT, MergedIntentBindingPlan::body);
+    }
+
+    @Test
+    void compile_WhenAMultipleValuedPropertyIsNotACollection_ThenInfersItsElements() throws NoSuchMethodException {
+        assertThat(compile("multiple").params()).extracting(Binding::type).containsOnly(Object.class);
+    }
+
+    @Test
+    void compile_WhenNoBoundPropertyIsUntyped_ThenBindsDirectly() throws NoSuchMethodException {
+        assertThat(compile("direct").direct()).isTrue();
+    }
+
+    @Test
+    void compile_WhenABoundPropertyIsUntyped_ThenDoesNotBindDirectly() throws NoSuchMethodException {
+        assertThat(compile("untyped").direct()).isFalse();
+    }
+
+    @Test
+    void compile_WhenABoundPropertyIsNotDirectlyConvertible_ThenDoesNotBindDirectly() throws NoSuchMethodException {
+        var parameter = new MethodParameter(Holder.class.getMethod("direct", TestIntent.class), 0);
+        var plan = MergedIntentBindingPlan.compile(parameter, staticPermissionService, type -> type != Integer.class);
+        assertThat(plan.direct()).isFalse();
+    }
+
+    @Test
+    void compile_WhenAnyPathVariableMayBindAnUntypedProperty_ThenDoesNotBindDirectly() throws NoSuchMethodException {
+        assertThat(compile("defaults").direct()).isFalse();
+    }
+
+    @Test
+    void compile_WhenACookieIsMappedTwice_ThenThrows() {
+        assertThatThrownBy(() -> compile("duplicateCookies")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void getValueType() throws NoSuchMethodException {
+        var plan = compile("defaults");
+        assertThat(plan.getValueType("c")).isEqualTo(Long.class);
+        assertThat(plan.getValueType("unknown")).isEqualTo(Object.class);
+    }
+
+    private MergedIntentBindingPlan compile(String name) throws NoSuchMethodException {
+        var parameter = new MethodParameter(Holder.class.getMethod(name, TestIntent.class), 0);
+        return MergedIntentBindingPlan.compile(parameter, staticPermissionService, type -> true);
+    }
+
+}
@@ -0,0 +1,101 @@
+package io.github.naomimyselfandi.staticpermissions.web;
+
+import io.github.naomimyselfandi.staticpermissions.PropertyExtractor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestPartsPropertyExtractorTest {
+
+    @SuppressWarnings("unused")
+    private interface Holder {
+        String getName();
+        int getCount();
+        Set<Long> getIds();
+        Runnable getTask();
+    }
+
+    @Mock
+    private ConversionService conversionService;
+
+    private RequestPartsPropertyExtractor fixture;
+
+    @BeforeEach
+    void setup() {
+        fixture = new RequestPartsPropertyExtractor(new DefaultConversionService());
+    }
+
+    @Test
+    void extract() throws NoSuchMethodException {
+        var parts = new RequestParts(Map.of("name", "01", "count", "01", "ids", List.of("3", "4", "3")));
+        assertThat(fixture.extract(parts, method("getName"), "name")).isEqualTo("01");
+        assertThat(fixture.extract(parts, method("getCount"), "count")).isEqualTo(1);
+        assertThat(fixture.extract(parts, method("getIds"), "ids")).isEqualTo(Set.of(3L, 4L));
+    }
+
+    @Test
+    void extract_WhenTheValueIsAString_ThenReturnsItWithoutConversion() throws NoSuchMethodException {
+        fixture = new RequestPartsPropertyExtractor(conversionService);
+        var parts = new RequestParts(Map.of("name", "foo"));
+        assertThat(fixture.extract(parts, method("getName"), "name")).isEqualTo("foo");
+        verifyNoInteractions(conversionService);
+    }
+
+    @Test
+    void extract_WhenTheValueIsAbsent_ThenNull() throws NoSuchMethodException {
+        var parts = new RequestParts(Map.of());
+        assertThat(fixture.extract(parts, method("getCount"), "count")).isNull();
+    }
+
+    @Test
+    void extract_WhenTheValueCannotBeConverted_ThenIndicatesATypeMismatch() throws NoSuchMethodException {
+        var parts = new RequestParts(Map.of("count", "foo", "task", "bar"));
+        assertThat(fixture.extract(parts, method("getCount"), "count")).isEqualTo(PropertyExtractor.TYPE_MISMATCH);
+        assertThat(fixture.extract(parts, method("getTask"), "task")).isEqualTo(PropertyExtractor.TYPE_MISMATCH);
+    }
+
+    @Test
+    void extract_WhenConversionFails_ThenIndicatesATypeMismatch() throws NoSuchMethodException {
+        fixture = new RequestPartsPropertyExtractor(conversionService);
+        var source = TypeDescriptor.valueOf(String.class);
+        var target = TypeDescriptor.valueOf(int.class);
+        when(conversionService.canConvert(source, target)).thenReturn(true);
+        when(conversionService.convert(any(), any(TypeDescriptor.class)))
+                .thenThrow(new ConversionFailedException(source, target, "foo", new NumberFormatException()));
+        var parts = new RequestParts(Map.of("count", "foo"));
+        assertThat(fixture.extract(parts, method("getCount"), "count")).isEqualTo(PropertyExtractor.TYPE_MISMATCH);
+    }
+
+    @Test
+    void isPresent() throws NoSuchMethodException {
+        var parts = new RequestParts(Map.of("count", "1"));
+        assertThat(fixture.isPresent(parts, method("getCount"), "count")).isTrue();
+        assertThat(fixture.isPresent(parts, method("getName"), "name")).isFalse();
+    }
+
+    @Test
+    void getSupportedType() {
+        assertThat(fixture.getSupportedType()).isEqualTo(RequestParts.class);
+    }
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return Holder.class.getMethod(name);
+    }
+
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 
 import java.util.ArrayList;
@@ -26,9 +28,21 @@ class StaticPermissionWebConfigurationTest {
     @Mock
     private StaticPermissionService staticPermissionService;
 
+    @Mock
+    private ObjectProvider<ConversionService> conversionServices;
+
     @InjectMocks
     private StaticPermissionWebConfiguration fixture;
 
+    @Mock
+    private ConversionService conversionService;
+
+    @Test
+    void requestPartsPropertyExtractor() {
+        assertThat(StaticPermissionWebConfiguration.requestPartsPropertyExtractor(conversionService))
+                .isInstanceOf(RequestPartsPropertyExtractor.class);
+    }
+
     @Test
     void addArgumentResolvers() {
         var resolvers = new ArrayList<HandlerMethodArgumentResolver>();
@@ -41,6 +55,7 @@ class StaticPermissionWebConfigurationTest {
                     assertThat(it.staticPermissionService).isEqualTo(staticPermissionService);
                     assertThat(it.jsonNodeHelper).isInstanceOf(JsonNodeHelperImpl.class);
                     assertThat(it.objectMapper).isEqualTo(objectMapper);
+                    assertThat(it.conversionService).isEqualTo(conversionServices);
                 });
     }
 
@@ -1,7 +1,15 @@
 package io.github.naomimyselfandi.staticpermissions_integration;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.naomimyselfandi.staticpermissions.AccessPolicy;
+import io.github.naomimyselfandi.staticpermissions.Decision;
+import io.github.naomimyselfandi.staticpermissions.StaticPermissionService;
+import io.github.naomimyselfandi.staticpermissions.jackson.IntentStreamReader;
+import io.github.naomimyselfandi.staticpermissions.jackson.JsonPayload;
+import io.github.naomimyselfandi.staticpermissions.jackson.RequiresIntent;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -9,7 +17,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = TestConfiguration.class)
@@ -18,11 +35,23 @@ class JacksonIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private IntentStreamReader intentStreamReader;
+
+    @Autowired
+    private StaticPermissionService staticPermissionService;
+
+    @Autowired
+    private AccessPolicy<FooIntent> accessPolicy;
+
+    private record FooView(boolean spam, int eggs, @RequiresIntent(FooIntent.class) String secret) {}
+
     @ParameterizedTest
     @CsvSource(textBlock = """
             '{"eggs":12}',12,false
             '{"eggs":5,"spam":false}',5,false
             '{"eggs":14,"spam":true}',14,true
+            '{"spam":true,"other":{"nested":[1,2]},"eggs":3}',3,true
             """)
     void canDeserializeIntentTypes(String json, int eggs, boolean spam) throws JsonProcessingException {
         assertThat(objectMapper.readValue(json, FooIntent.class))
@@ -30,4 +59,59 @@ class JacksonIntegrationTest {
                 .returns(spam, FooIntent::isSpam);
     }
 
+    @Test
+    void canDeserializeCollectionsOfIntentTypes() throws JsonProcessingException {
+        var result = objectMapper.readValue("[{\"eggs\":1},{\"eggs\":2},{\"eggs\":1}]", FooIntent[].class);
+        assertThat(result).extracting(FooIntent::getEggs).containsExactly(1, 2, 1);
+        assertThat(result[2]).isSameAs(result[0]);
+    }
+
+    @Test
+    void canDeserializeMapsWithIntentKeys() throws JsonProcessingException {
+        var result = objectMapper.readValue("{\"3\":\"a\",\"4\":\"b\"}", new TypeReference<Map<FooIntent, String>>() {});
+        assertThat(result).hasSize(2);
+        assertThat(result.keySet()).extracting(FooIntent::getEggs).containsExactlyInAnyOrder(3, 4);
+    }
+
+    @Test
+    void canReadStreamsOfIntents() throws IOException {
+        var input = new ByteArrayInputStream("{\"eggs\":1}\n{\"eggs\":2}\n{\"eggs\":3}\n".getBytes(StandardCharsets.UTF_8));
+        try (var decisions = intentStreamReader.read(input, FooIntent.class)) {
+            assertThat(decisions.map(Decision::intent).toList())
+                    .extracting(FooIntent::getEggs)
+                    .containsExactly(1, 2, 3);
+        }
+    }
+
+    @Test
+    void canCreateIntentsFromEncodedPayloads() {
+        var payload = JsonPayload.of(objectMapper.getFactory(), "{\"spam\":true,\"eggs\":7}".getBytes(StandardCharsets.UTF_8));
+        assertThat(staticPermissionService.require(payload, FooIntent.class))
+                .returns(7, FooIntent::getEggs)
+                .returns(true, FooIntent::isSpam);
+    }
+
+    @Test
+    void canSerializeIntentObjects() throws JsonProcessingException {
+        var intent = objectMapper.readValue("{\"eggs\":12,\"spam\":true}", FooIntent.class);
+        var json = objectMapper.writeValueAsString(intent);
+        assertThat(json).isEqualTo("{\"eggs\":12,\"spam\":true}");
+        assertThat(objectMapper.readValue(json, FooIntent.class)).isEqualTo(intent);
+    }
+
+    @Test
+    void canOmitFieldsTheUserMayNotSee() throws JsonProcessingException {
+        doAnswer(invocation -> {
+            var intent = invocation.<FooIntent>getArgument(0);
+            return intent.isSpam() ? (AccessPolicy.Denial) RuntimeException::new : null;
+        }).when(accessPolicy).apply(any());
+        try {
+            var views = List.of(new FooView(false, 1, "a"), new FooView(true, 2, "b"), new FooView(false, 3, "c"));
+            assertThat(objectMapper.writeValueAsString(views)).isEqualTo("""
+                    [{"spam":false,"eggs":1,"secret":"a"},{"spam":true,"eggs":2},{"spam":false,"eggs":3,"secret":"c"}]""");
+        } finally {
+            doReturn(null).when(accessPolicy).apply(any());
+        }
+    }
+
 }